@@ -0,0 +1,80 @@
+package com.zuehlke.jasschallenge.benchmark;
+
+import com.zuehlke.jasschallenge.client.LocalGame;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.search.DoubleDummySolver;
+import com.zuehlke.jasschallenge.game.search.GameState;
+import com.zuehlke.jasschallenge.game.search.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.zuehlke.jasschallenge.benchmark.ModeBenchmark.SEED;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleDummySolverBenchmark {
+    private static final int NUMBER_OF_DEALS = 64;
+    private static final int TABLE_SIZE_BITS = 18;
+
+    /** Number of cards every player still holds, the rounds before are played with random legal cards. */
+    @Param({"4", "5", "6", "7"})
+    public int cards;
+
+    private GameState[] states;
+    private TranspositionTable table;
+    private DoubleDummySolver solver;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<com.zuehlke.jasschallenge.game.mode.Mode> modes = com.zuehlke.jasschallenge.game.mode.Mode.standardModes();
+        states = new GameState[NUMBER_OF_DEALS];
+        for (int i = 0; i < NUMBER_OF_DEALS; i++) {
+            states[i] = createState(modes.get(i % modes.size()), random);
+        }
+        table = new TranspositionTable(TABLE_SIZE_BITS);
+        solver = new DoubleDummySolver(table);
+    }
+
+    /**
+     * Every deal is solved with an empty table, like the first solve of a sample in PIMC.
+     */
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear();
+    }
+
+    @Benchmark
+    public int solve() {
+        index = (index + 1) & (NUMBER_OF_DEALS - 1);
+        return solver.solve(states[index]);
+    }
+
+    private GameState createState(com.zuehlke.jasschallenge.game.mode.Mode mode, SplittableRandom random) {
+        final List<Set<Card>> hands = LocalGame.deal(random);
+        final long[] masks = new long[GameState.NUMBER_OF_PLAYERS];
+        for (int seat = 0; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+            masks[seat] = CardSet.maskOf(hands.get(seat));
+        }
+
+        final GameState state = new GameState(mode, masks, 0);
+        for (int i = (GameState.NUMBER_OF_ROUNDS - cards) * GameState.NUMBER_OF_PLAYERS; i > 0; i--) {
+            long legalMoves = state.legalMoves();
+            for (int skip = random.nextInt(CardSet.size(legalMoves)); skip > 0; skip--) {
+                legalMoves = CardSet.removeFirst(legalMoves);
+            }
+            state.makeMove(Long.numberOfTrailingZeros(legalMoves));
+        }
+        return state;
+    }
+}
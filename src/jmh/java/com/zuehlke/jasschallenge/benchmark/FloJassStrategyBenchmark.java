@@ -0,0 +1,56 @@
+package com.zuehlke.jasschallenge.benchmark;
+
+import com.zuehlke.jasschallenge.client.game.strategy.FloJassStrategy;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.zuehlke.jasschallenge.benchmark.ModeBenchmark.NUMBER_OF_POSITIONS;
+import static com.zuehlke.jasschallenge.benchmark.ModeBenchmark.SEED;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloJassStrategyBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int mode;
+
+    private Position[] positions;
+    private FloJassStrategy[] strategies;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        positions = Position.createPositions(NUMBER_OF_POSITIONS, com.zuehlke.jasschallenge.game.mode.Mode.fromOrdinal(mode), SEED);
+        strategies = new FloJassStrategy[NUMBER_OF_POSITIONS];
+        for (int i = 0; i < NUMBER_OF_POSITIONS; i++) {
+            final Position position = positions[i];
+            final FloJassStrategy strategy = new FloJassStrategy();
+            strategy.onGameStarted(position.session);
+            position.moves.forEach(move -> strategy.onMoveMade(move, position.session));
+            strategies[i] = strategy;
+        }
+    }
+
+    @Benchmark
+    public Card chooseCard() {
+        final Position position = nextPosition();
+        return strategies[index].chooseCard(position.getCards(), position.session);
+    }
+
+    @Benchmark
+    public Object chooseTrumpf() {
+        final Position position = nextPosition();
+        return strategies[index].chooseTrumpf(position.hands.get(0), position.session, false);
+    }
+
+    private Position nextPosition() {
+        index = (index + 1) & (NUMBER_OF_POSITIONS - 1);
+        return positions[index];
+    }
+}
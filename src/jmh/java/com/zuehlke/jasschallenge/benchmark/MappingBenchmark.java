@@ -0,0 +1,33 @@
+package com.zuehlke.jasschallenge.benchmark;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.messages.Mapping;
+import com.zuehlke.jasschallenge.messages.type.RemoteCard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final RemoteCard[] remoteCards = new RemoteCard[Card.values().length];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (Card card : Card.values()) {
+            remoteCards[card.ordinal()] = Mapping.mapToRemoteCard(card);
+        }
+    }
+
+    @Benchmark
+    public Card mapToCard() {
+        index = (index + 1) % remoteCards.length;
+        return Mapping.mapToCard(remoteCards[index]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.zuehlke.jasschallenge.benchmark;
+
+import com.zuehlke.jasschallenge.client.game.Round;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeBenchmark {
+    static final int NUMBER_OF_POSITIONS = 1024;
+    static final long SEED = 42;
+
+    /** Ordinal of the mode, see {@link com.zuehlke.jasschallenge.game.mode.Mode#fromOrdinal(int)}. */
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int mode;
+
+    private Position[] positions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        positions = Position.createPositions(NUMBER_OF_POSITIONS, com.zuehlke.jasschallenge.game.mode.Mode.fromOrdinal(mode), SEED);
+    }
+
+    @Benchmark
+    public void canPlayCard(Blackhole blackhole) {
+        final Position position = nextPosition();
+        final Round round = position.getRound();
+        final Set<Card> playedCards = round.getPlayedCards();
+        for (Card card : position.getCards()) {
+            blackhole.consume(round.getMode().canPlayCard(card, playedCards, round.getRoundColor(), position.getCards()));
+        }
+    }
+
+    @Benchmark
+    public long legalMoves() {
+        final Position position = nextPosition();
+        final Round round = position.getRound();
+        return round.getMode().legalMoves(position.player.getCardSet(), round.getPlayedCardSet(), round.getRoundColor()).mask();
+    }
+
+    @Benchmark
+    public Object determineWinningMove() {
+        final Round round = nextPosition().getRound();
+        return round.getMode().determineWinningMove(round.getMoves());
+    }
+
+    @Benchmark
+    public int calculateRoundScore() {
+        final Round round = nextPosition().getRound();
+        return round.getMode().calculateRoundScore(round.getRoundNumber(), round.getPlayedCards());
+    }
+
+    @Benchmark
+    public Object getPlayedCards() {
+        return nextPosition().getRound().getPlayedCards();
+    }
+
+    private Position nextPosition() {
+        index = (index + 1) & (NUMBER_OF_POSITIONS - 1);
+        return positions[index];
+    }
+}
@@ -0,0 +1,95 @@
+package com.zuehlke.jasschallenge.benchmark;
+
+import com.zuehlke.jasschallenge.client.LocalGame;
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.client.game.Round;
+import com.zuehlke.jasschallenge.client.game.Team;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static java.util.Arrays.asList;
+
+/**
+ * A game played with random legal cards up to a random point, where the current player has to choose a card.
+ */
+class Position {
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+
+    final GameSession session;
+    final Player player;
+    final List<Set<Card>> hands;
+    final List<Move> moves;
+
+    private Position(GameSession session, Player player, List<Set<Card>> hands, List<Move> moves) {
+        this.session = session;
+        this.player = player;
+        this.hands = hands;
+        this.moves = moves;
+    }
+
+    Round getRound() {
+        return session.getCurrentRound();
+    }
+
+    Set<Card> getCards() {
+        return player.getCards();
+    }
+
+    static Position[] createPositions(int numberOfPositions, Mode mode, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final Position[] positions = new Position[numberOfPositions];
+        for (int i = 0; i < numberOfPositions; i++) {
+            positions[i] = createPosition(mode, random);
+        }
+        return positions;
+    }
+
+    private static Position createPosition(Mode mode, SplittableRandom random) {
+        final List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < 4; seat++) {
+            players.add(new Player(String.valueOf(seat), "Player " + (seat + 1), seat));
+        }
+        final List<Team> teams = asList(
+                new Team("Team 1", asList(players.get(0), players.get(2))),
+                new Team("Team 2", asList(players.get(1), players.get(3))));
+        final GameSession session = new GameSession(teams, players);
+        final List<Set<Card>> hands = LocalGame.deal(random);
+        for (int seat = 0; seat < 4; seat++) {
+            players.get(seat).setCards(hands.get(seat));
+        }
+
+        session.startNewGame(mode, false);
+        final List<Move> moves = new ArrayList<>();
+        final int numberOfMoves = random.nextInt(NUMBER_OF_CARDS);
+        for (int i = 0; i < numberOfMoves; i++) {
+            final Round round = session.getCurrentRound();
+            final Player player = round.getPlayingOrder().getCurrentPlayer();
+            final long legalMoves = round.getMode().legalMoves(player.getCardSet(), round.getPlayedCardSet(), round.getRoundColor()).mask();
+            final Card card = pick(legalMoves, random);
+            player.getCards().remove(card);
+            final Move move = new Move(player, card);
+            session.makeMove(move);
+            moves.add(move);
+            if (round.getMoves().size() == 4) {
+                session.startNextRound();
+            }
+        }
+        return new Position(session, session.getCurrentRound().getPlayingOrder().getCurrentPlayer(), hands, moves);
+    }
+
+    private static Card pick(long cards, SplittableRandom random) {
+        long remaining = cards;
+        for (int i = random.nextInt(CardSet.size(cards)); i > 0; i--) {
+            remaining = CardSet.removeFirst(remaining);
+        }
+        return CardSet.first(remaining);
+    }
+}
@@ -19,6 +19,8 @@ public class Application {
     public static final String BOT_NAME = "floBot";
     //CHALLENGE2017: Set your own strategy
     private static final FloJassStrategy STRATEGY = new FloJassStrategy();
+    //CHALLENGE2017: Time for every decision, a card of the FloJassStrategy is played when your strategy takes longer
+    private static final long DECISION_TIMEOUT_MILLIS = 1000;
 
     private static final String LOCAL_URL = "ws://127.0.0.1:3000";
 
@@ -26,6 +28,7 @@ public class Application {
         String websocketUrl = parseWebsocketUrlOrDefault(args);
 
         Player myLocalPlayer = new Player(BOT_NAME, STRATEGY);
+        myLocalPlayer.setDecisionTimeout(DECISION_TIMEOUT_MILLIS);
 
         System.out.println("Connecting... Server socket URL: " + websocketUrl);
         startGame(websocketUrl, myLocalPlayer, SessionType.TOURNAMENT);
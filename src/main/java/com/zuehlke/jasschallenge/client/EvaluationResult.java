@@ -0,0 +1,117 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.Locale;
+
+/**
+ * Points per game of strategy A and strategy B, in total and per mode.
+ */
+public class EvaluationResult {
+    private final ScoreStatistics pointsA = new ScoreStatistics();
+    private final ScoreStatistics pointsB = new ScoreStatistics();
+    private final ScoreStatistics difference = new ScoreStatistics();
+    private final ScoreStatistics[] pointsAPerMode = createStatisticsPerMode();
+    private final ScoreStatistics[] pointsBPerMode = createStatisticsPerMode();
+    private long durationNanos;
+
+    void add(GameResult result) {
+        addPoints(result, 0);
+        difference.add(calculateDifference(result, 0));
+    }
+
+    /**
+     * Adds a deal which was played twice, the second time with the seats of the strategies swapped. The
+     * difference is averaged over both games, so the luck of the deal cancels out.
+     */
+    void addDuplicate(GameResult result, GameResult swappedResult) {
+        addPoints(result, 0);
+        addPoints(swappedResult, 1);
+        difference.add((calculateDifference(result, 0) + calculateDifference(swappedResult, 1)) / 2.0);
+    }
+
+    void merge(EvaluationResult other) {
+        pointsA.merge(other.pointsA);
+        pointsB.merge(other.pointsB);
+        difference.merge(other.difference);
+        for (int mode = 0; mode < Mode.NUMBER_OF_MODES; mode++) {
+            pointsAPerMode[mode].merge(other.pointsAPerMode[mode]);
+            pointsBPerMode[mode].merge(other.pointsBPerMode[mode]);
+        }
+    }
+
+    void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public long getNumberOfGames() {
+        return pointsA.getCount();
+    }
+
+    public double getGamesPerSecond() {
+        if (durationNanos == 0) return 0;
+
+        return getNumberOfGames() * 1e9 / durationNanos;
+    }
+
+    public ScoreStatistics getPointsA() {
+        return pointsA;
+    }
+
+    public ScoreStatistics getPointsB() {
+        return pointsB;
+    }
+
+    /**
+     * @return points of strategy A minus points of strategy B, per game (per deal for duplicate deals)
+     */
+    public ScoreStatistics getDifference() {
+        return difference;
+    }
+
+    public ScoreStatistics getPointsA(Mode mode) {
+        return pointsAPerMode[mode.getOrdinal()];
+    }
+
+    public ScoreStatistics getPointsB(Mode mode) {
+        return pointsBPerMode[mode.getOrdinal()];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d games in %.1f s (%.0f games/s)%n",
+                getNumberOfGames(), durationNanos / 1e9, getGamesPerSecond()));
+        report.append("A: ").append(pointsA).append(String.format("%n"));
+        report.append("B: ").append(pointsB).append(String.format("%n"));
+        report.append("A - B: ").append(difference).append(String.format("%n"));
+        for (Mode mode : Mode.allModes()) {
+            if (getPointsA(mode).getCount() == 0) continue;
+
+            report.append(String.format("%-15s A: %s, B: %s%n", mode, getPointsA(mode), getPointsB(mode)));
+        }
+        return report.toString();
+    }
+
+    private void addPoints(GameResult result, int teamA) {
+        final int scoreA = result.getTeamScore(teamA);
+        final int scoreB = result.getTeamScore(1 - teamA);
+        final int mode = result.getMode().getOrdinal();
+        pointsA.add(scoreA);
+        pointsB.add(scoreB);
+        pointsAPerMode[mode].add(scoreA);
+        pointsBPerMode[mode].add(scoreB);
+    }
+
+    private static int calculateDifference(GameResult result, int teamA) {
+        return result.getTeamScore(teamA) - result.getTeamScore(1 - teamA);
+    }
+
+    private static ScoreStatistics[] createStatisticsPerMode() {
+        final ScoreStatistics[] statistics = new ScoreStatistics[Mode.NUMBER_OF_MODES];
+        for (int mode = 0; mode < statistics.length; mode++) {
+            statistics[mode] = new ScoreStatistics();
+        }
+        return statistics;
+    }
+}
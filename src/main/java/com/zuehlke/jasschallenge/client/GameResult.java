@@ -0,0 +1,49 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+/**
+ * Outcome of a single game played by a {@link LocalGame}. Team 0 are the players on seats 0 and 2, team 1 the
+ * players on seats 1 and 3.
+ */
+public class GameResult {
+    private final Mode mode;
+    private final boolean shifted;
+    private final int trumpfSeat;
+    private final int[] teamScores;
+
+    GameResult(Mode mode, boolean shifted, int trumpfSeat, int teamScore0, int teamScore1) {
+        this.mode = mode;
+        this.shifted = shifted;
+        this.trumpfSeat = trumpfSeat;
+        this.teamScores = new int[]{teamScore0, teamScore1};
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isShifted() {
+        return shifted;
+    }
+
+    /**
+     * @return the seat of the player who chose the trumpf (the partner of the starting player if it was shifted)
+     */
+    public int getTrumpfSeat() {
+        return trumpfSeat;
+    }
+
+    public int getTeamScore(int team) {
+        return teamScores[team];
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{" +
+                "mode=" + mode +
+                ", shifted=" + shifted +
+                ", teamScores=" + teamScores[0] + ":" + teamScores[1] +
+                '}';
+    }
+}
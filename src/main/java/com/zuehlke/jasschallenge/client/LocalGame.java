@@ -0,0 +1,170 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.client.game.*;
+import com.zuehlke.jasschallenge.client.game.strategy.JassStrategy;
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.client.game.Game.LAST_ROUND_NUMBER;
+import static java.util.Arrays.asList;
+
+/**
+ * Plays a session between four local strategies without the challenge server. The referee deals the cards, lets
+ * the players choose the trumpf (including shifting it to the partner), checks every played card against the
+ * rules of the mode and scores the games with the same {@link GameSession} logic a remote game uses.
+ * <br><br>
+ * The strategies are seated in the given order, seats 0 and 2 play against seats 1 and 3. A LocalGame is not
+ * thread safe, use one instance per thread.
+ */
+public class LocalGame implements Game {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalGame.class);
+    private static final int NUMBER_OF_PLAYERS = 4;
+    private static final int CARDS_PER_PLAYER = Card.values().length / NUMBER_OF_PLAYERS;
+
+    private final List<Player> players;
+    private final GameSession session;
+    private final SplittableRandom random;
+    private final int numberOfGames;
+    private boolean sessionStarted = false;
+    private int playedGames = 0;
+
+    public LocalGame(List<JassStrategy> strategies, int numberOfGames, SplittableRandom random) {
+        if (strategies.size() != NUMBER_OF_PLAYERS) throw new RuntimeException("A game needs exactly four strategies");
+
+        this.players = new ArrayList<>();
+        for (int seat = 0; seat < NUMBER_OF_PLAYERS; seat++) {
+            players.add(new Player(String.valueOf(seat), "Player " + (seat + 1), seat, strategies.get(seat)));
+        }
+        final List<Team> teams = asList(
+                new Team("Team 1", asList(players.get(0), players.get(2))),
+                new Team("Team 2", asList(players.get(1), players.get(3))));
+        this.session = new GameSession(teams, players);
+        this.numberOfGames = numberOfGames;
+        this.random = random;
+    }
+
+    @Override
+    public void start() {
+        for (int i = 0; i < numberOfGames; i++) {
+            playGame();
+        }
+        finishSession();
+    }
+
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Deals a shuffled deck and plays one game.
+     */
+    public GameResult playGame() {
+        return playGame(deal(random));
+    }
+
+    /**
+     * Plays one game with the given hands (in seat order). The trumpf is chosen by the seat whose turn it is in
+     * this session, starting with seat 0 and moving one seat further every game.
+     */
+    public GameResult playGame(List<Set<Card>> hands) {
+        if (hands.size() != NUMBER_OF_PLAYERS) throw new RuntimeException("A game needs exactly four hands");
+        startSession();
+
+        for (int seat = 0; seat < NUMBER_OF_PLAYERS; seat++) {
+            players.get(seat).setCards(hands.get(seat));
+        }
+
+        final int startingSeat = playedGames % NUMBER_OF_PLAYERS;
+        final int partnerSeat = (startingSeat + 2) % NUMBER_OF_PLAYERS;
+        final Mode chosenMode = chooseTrumpf(players.get(startingSeat), false);
+        final boolean shifted = chosenMode.getTrumpfName() == Trumpf.SCHIEBE;
+        final Mode mode = shifted ? chooseTrumpf(players.get(partnerSeat), true) : chosenMode;
+
+        session.startNewGame(mode, shifted);
+        players.forEach(player -> player.onGameStarted(session));
+        for (int roundNumber = 0; roundNumber <= LAST_ROUND_NUMBER; roundNumber++) {
+            for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+                playCard();
+            }
+            session.startNextRound();
+        }
+        players.forEach(Player::onGameFinished);
+        playedGames++;
+
+        final Result result = session.getCurrentGame().getResult();
+        final GameResult gameResult = new GameResult(mode, shifted, shifted ? partnerSeat : startingSeat,
+                result.getTeamScore(players.get(0)),
+                result.getTeamScore(players.get(1)));
+        logger.debug("Game finished: {}", gameResult);
+        return gameResult;
+    }
+
+    public void finishSession() {
+        if (!sessionStarted) return;
+
+        players.forEach(Player::onSessionFinished);
+        sessionStarted = false;
+    }
+
+    public static List<Set<Card>> deal(SplittableRandom random) {
+        final Card[] deck = Card.values();
+        for (int i = deck.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Card card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+
+        final List<Set<Card>> hands = new ArrayList<>(NUMBER_OF_PLAYERS);
+        for (int seat = 0; seat < NUMBER_OF_PLAYERS; seat++) {
+            final Set<Card> hand = EnumSet.noneOf(Card.class);
+            for (int i = 0; i < CARDS_PER_PLAYER; i++) {
+                hand.add(deck[seat * CARDS_PER_PLAYER + i]);
+            }
+            hands.add(hand);
+        }
+        return hands;
+    }
+
+    private void startSession() {
+        if (sessionStarted) return;
+
+        players.forEach(player -> player.onSessionStarted(session));
+        sessionStarted = true;
+    }
+
+    private Mode chooseTrumpf(Player player, boolean shifted) {
+        final Mode mode = player.chooseTrumpf(session, shifted);
+        if (mode == null) throw new RuntimeException(player.getName() + " did not choose a trumpf");
+        if (shifted && mode.getTrumpfName() == Trumpf.SCHIEBE) {
+            throw new RuntimeException(player.getName() + " cannot shift a trumpf which was already shifted");
+        }
+        return mode;
+    }
+
+    private void playCard() {
+        final Round round = session.getCurrentRound();
+        final Player player = round.getPlayingOrder().getCurrentPlayer();
+        final CardSet hand = player.getCardSet();
+
+        final Move move = player.makeMove(session);
+        final Card card = move.getPlayedCard();
+        final boolean cardIsValid = hand.contains(card)
+                && round.getMode().canPlayCard(card, round.getPlayedCardSet(), round.getRoundColor(), hand);
+        if (!cardIsValid) throw new RuntimeException(player.getName() + " played an invalid card: " + card);
+
+        session.makeMove(move);
+        players.forEach(p -> p.onMoveMade(move, session));
+    }
+}
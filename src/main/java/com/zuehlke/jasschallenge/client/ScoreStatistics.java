@@ -0,0 +1,60 @@
+package com.zuehlke.jasschallenge.client;
+
+import java.util.Locale;
+
+/**
+ * Running mean and variance of game scores (Welford's algorithm). Statistics of independent parts of an
+ * evaluation can be merged.
+ */
+public class ScoreStatistics {
+    private static final double Z_95 = 1.96;
+
+    private long count;
+    private double mean;
+    private double sumOfSquaredDeviations;
+
+    public void add(double score) {
+        count++;
+        final double delta = score - mean;
+        mean += delta / count;
+        sumOfSquaredDeviations += delta * (score - mean);
+    }
+
+    public void merge(ScoreStatistics other) {
+        if (other.count == 0) return;
+
+        final long mergedCount = count + other.count;
+        final double delta = other.mean - mean;
+        mean += delta * other.count / mergedCount;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations + delta * delta * count * other.count / mergedCount;
+        count = mergedCount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        if (count < 2) return 0;
+
+        return Math.sqrt(sumOfSquaredDeviations / (count - 1));
+    }
+
+    /**
+     * @return half the width of the 95% confidence interval of the mean
+     */
+    public double getConfidenceInterval95() {
+        if (count < 2) return 0;
+
+        return Z_95 * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.2f +/- %.2f (n=%d)", mean, getConfidenceInterval95(), count);
+    }
+}
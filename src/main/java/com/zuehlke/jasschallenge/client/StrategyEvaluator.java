@@ -0,0 +1,119 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.client.game.strategy.JassStrategy;
+import com.zuehlke.jasschallenge.game.cards.Card;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Plays strategy A against strategy B on all cores with {@link LocalGame}s.
+ * <br><br>
+ * The games are split into a fixed tree of tasks and every task gets its own {@link SplittableRandom}, split from
+ * the seed, so the same seed always deals the same cards no matter which thread plays them. Every task asks the
+ * suppliers for a new strategy per seat.
+ */
+public class StrategyEvaluator {
+
+    private static final int DEALS_PER_TASK = 256;
+
+    private final Supplier<JassStrategy> strategyA;
+    private final Supplier<JassStrategy> strategyB;
+    private final ForkJoinPool pool;
+
+    public StrategyEvaluator(Supplier<JassStrategy> strategyA, Supplier<JassStrategy> strategyB) {
+        this(strategyA, strategyB, ForkJoinPool.commonPool());
+    }
+
+    public StrategyEvaluator(Supplier<JassStrategy> strategyA, Supplier<JassStrategy> strategyB, ForkJoinPool pool) {
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays every game with a new deal, strategy A on seats 0 and 2.
+     */
+    public EvaluationResult evaluate(int numberOfGames, long seed) {
+        return evaluate(numberOfGames, seed, false);
+    }
+
+    /**
+     * Plays every deal twice, the second time with the strategies on swapped seats, so both strategies get the
+     * same cards. The difference is reported per deal and needs far fewer games for the same confidence.
+     */
+    public EvaluationResult evaluateDuplicate(int numberOfDeals, long seed) {
+        return evaluate(numberOfDeals, seed, true);
+    }
+
+    private EvaluationResult evaluate(int numberOfDeals, long seed, boolean duplicate) {
+        final long startNanos = System.nanoTime();
+        final EvaluationResult result = pool.invoke(new EvaluationTask(numberOfDeals, new SplittableRandom(seed), duplicate));
+        result.setDurationNanos(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private EvaluationResult playGames(int numberOfDeals, SplittableRandom random) {
+        final LocalGame localGame = createLocalGame(strategyA, strategyB, numberOfDeals, random);
+
+        final EvaluationResult result = new EvaluationResult();
+        for (int i = 0; i < numberOfDeals; i++) {
+            result.add(localGame.playGame());
+        }
+        localGame.finishSession();
+        return result;
+    }
+
+    private EvaluationResult playDuplicateGames(int numberOfDeals, SplittableRandom random) {
+        final LocalGame localGame = createLocalGame(strategyA, strategyB, numberOfDeals, random);
+        final LocalGame swappedLocalGame = createLocalGame(strategyB, strategyA, numberOfDeals, random);
+
+        final EvaluationResult result = new EvaluationResult();
+        for (int i = 0; i < numberOfDeals; i++) {
+            final List<Set<Card>> hands = LocalGame.deal(random);
+            result.addDuplicate(localGame.playGame(hands), swappedLocalGame.playGame(hands));
+        }
+        localGame.finishSession();
+        swappedLocalGame.finishSession();
+        return result;
+    }
+
+    private static LocalGame createLocalGame(Supplier<JassStrategy> team1, Supplier<JassStrategy> team2, int numberOfGames, SplittableRandom random) {
+        return new LocalGame(asList(team1.get(), team2.get(), team1.get(), team2.get()), numberOfGames, random);
+    }
+
+    private class EvaluationTask extends RecursiveTask<EvaluationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final int numberOfDeals;
+        private final SplittableRandom random;
+        private final boolean duplicate;
+
+        EvaluationTask(int numberOfDeals, SplittableRandom random, boolean duplicate) {
+            this.numberOfDeals = numberOfDeals;
+            this.random = random;
+            this.duplicate = duplicate;
+        }
+
+        @Override
+        protected EvaluationResult compute() {
+            if (numberOfDeals <= DEALS_PER_TASK) {
+                return duplicate ? playDuplicateGames(numberOfDeals, random) : playGames(numberOfDeals, random);
+            }
+
+            final int half = numberOfDeals / 2;
+            final EvaluationTask first = new EvaluationTask(half, random.split(), duplicate);
+            final EvaluationTask second = new EvaluationTask(numberOfDeals - half, random.split(), duplicate);
+            first.fork();
+            final EvaluationResult result = second.compute();
+            result.merge(first.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.zuehlke.jasschallenge.client.game;
+
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.CardValue;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the cards played in the current game, updated by the {@link GameSession} with every move. Besides
+ * the played cards it knows which cards every seat has shown and which cards a seat cannot hold any more: a seat
+ * that does not follow the round color has no card of that color left (except the jack of trumpf, which never has
+ * to be played), a seat that plays a lower trumpf than one already in the round has nothing but trumpfs left.
+ * <br><br>
+ * Seats are the positions in {@link GameSession#getPlayersInPlayingOrder()}. All cards are masks like
+ * {@link CardSet}, every update and query takes constant time.
+ */
+public class CardTracker {
+
+    private static final int NUMBER_OF_SEATS = 4;
+    private static final int CARDS_PER_SEAT = Game.LAST_ROUND_NUMBER + 1;
+
+    private Mode mode;
+    private long playedCards;
+    private final long[] shownCards = new long[NUMBER_OF_SEATS];
+    private final long[] excludedCards = new long[NUMBER_OF_SEATS];
+
+    void startGame(Mode mode) {
+        this.mode = mode;
+        playedCards = 0L;
+        Arrays.fill(shownCards, 0L);
+        Arrays.fill(excludedCards, 0L);
+    }
+
+    /**
+     * @param roundCards the cards played in the current round before this card
+     * @param roundColor the color of the current round, {@code null} if this card opens the round
+     */
+    void addMove(int seat, Card card, long roundCards, Color roundColor) {
+        final long cardMask = CardSet.mask(card);
+        playedCards |= cardMask;
+        shownCards[seat] |= cardMask;
+        excludedCards[seat] |= calculateExcludedCards(card, mode, roundCards, roundColor);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getPlayedCards() {
+        return playedCards;
+    }
+
+    public long getPlayedCards(Color color) {
+        return playedCards & CardSet.colorMask(color);
+    }
+
+    public boolean isPlayed(Card card) {
+        return CardSet.contains(playedCards, card);
+    }
+
+    /**
+     * @return the cards the seat has played in the current game
+     */
+    public long getShownCards(int seat) {
+        return shownCards[seat];
+    }
+
+    /**
+     * @return the number of cards the seat still holds
+     */
+    public int getNumberOfCards(int seat) {
+        return CARDS_PER_SEAT - CardSet.size(shownCards[seat]);
+    }
+
+    /**
+     * @return the cards the seat cannot hold any more, including cards which are already played by others
+     */
+    public long getExcludedCards(int seat) {
+        return excludedCards[seat] | playedCards;
+    }
+
+    /**
+     * @return true if the seat cannot hold a card of the color any more
+     */
+    public boolean isVoid(int seat, Color color) {
+        final long colorCards = CardSet.colorMask(color);
+        return (getExcludedCards(seat) & colorCards) == colorCards;
+    }
+
+    /**
+     * @return the cards which are neither in the given hand nor played
+     */
+    public long getUnknownCards(long hand) {
+        return CardSet.ALL_CARDS_MASK & ~hand & ~playedCards;
+    }
+
+    static long calculateExcludedCards(Card card, Mode mode, long roundCards, Color roundColor) {
+        if (roundColor == null || card.getColor() == roundColor) return 0L;
+
+        final Color trumpfColor = mode.getTrumpfName() == Trumpf.TRUMPF ? mode.getTrumpfColor() : null;
+        if (roundColor == trumpfColor) return CardSet.colorMask(roundColor) & ~CardSet.mask(roundColor, CardValue.JACK);
+        if (card.getColor() != trumpfColor) return CardSet.colorMask(roundColor);
+
+        return isUndertrumpf(card, roundCards & CardSet.colorMask(trumpfColor)) ? CardSet.ALL_CARDS_MASK & ~CardSet.colorMask(trumpfColor) : 0L;
+    }
+
+    private static boolean isUndertrumpf(Card card, long playedTrumpfs) {
+        for (long trumpfs = playedTrumpfs; trumpfs != 0L; trumpfs = CardSet.removeFirst(trumpfs)) {
+            if (CardSet.first(trumpfs).isHigherTrumpfThan(card)) return true;
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.zuehlke.jasschallenge.client.game;
 
+import com.zuehlke.jasschallenge.game.cards.Color;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 
 import java.util.List;
@@ -14,6 +15,7 @@ public class GameSession {
     private final PlayingOrder gameStartingPlayerOrder;
     private Game currentGame;
     private final Result result;
+    private final CardTracker cardTracker = new CardTracker();
 
     public GameSession(List<Team> teams, List<Player> playersInPlayingOrder) {
         this.teams = teams;
@@ -35,6 +37,10 @@ public class GameSession {
         return teams;
     }
 
+    public List<Player> getPlayersInPlayingOrder() {
+        return playersInPlayingOrder;
+    }
+
     public void startNewGame(Mode mode, boolean shifted) {
 
         updateResult();
@@ -43,6 +49,7 @@ public class GameSession {
         gameStartingPlayerOrder.moveToNextPlayer();
 
         currentGame = Game.startGame(mode, initialOrder, teams, shifted);
+        cardTracker.startGame(mode);
     }
 
     public Round startNextRound() {
@@ -52,13 +59,27 @@ public class GameSession {
 
     public void makeMove(Move move) {
 
+        final int seat = playersInPlayingOrder.indexOf(move.getPlayer());
+        if (seat < 0) throw new RuntimeException("Player " + move.getPlayer() + " is not part of this session");
+
+        final Round round = currentGame.getCurrentRound();
+        final long roundCards = round.getPlayedCardSet().mask();
+        final Color roundColor = round.getRoundColor();
         currentGame.makeMove(move);
+        cardTracker.addMove(seat, move.getPlayedCard(), roundCards, roundColor);
     }
 
     public Game getCurrentGame() {
         return currentGame;
     }
 
+    /**
+     * @return the cards played in the current game and what is known about the hands of the players
+     */
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
+
     public Result getResult() {
         return result;
     }
@@ -1,6 +1,7 @@
 package com.zuehlke.jasschallenge.client.game;
 
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 import com.zuehlke.jasschallenge.client.game.strategy.JassStrategy;
 import com.zuehlke.jasschallenge.client.game.strategy.FloJassStrategy;
@@ -9,19 +10,35 @@ import org.slf4j.LoggerFactory;
 
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 public class Player {
 
     private static final Logger logger = LoggerFactory.getLogger(Player.class);
+    private static final long NO_DECISION_TIMEOUT = 0;
 
     private String id;
     private final String name;
     private int seatId;
     private final Set<Card> cards;
     private final JassStrategy currentJassStrategy;
+    private final JassStrategy fallbackStrategy = new FloJassStrategy();
+    private long decisionTimeoutMillis = NO_DECISION_TIMEOUT;
+    private ExecutorService decisionExecutor;
+    private boolean decisionIsLate;
 
     public Player(String id, String name, int seatId) {
-        this(name);
+        this(id, name, seatId, new FloJassStrategy());
+    }
+
+    public Player(String id, String name, int seatId, JassStrategy strategy) {
+        this(name, strategy);
         this.id = id;
         this.seatId = seatId;
     }
@@ -52,6 +69,14 @@ public class Player {
         this.seatId = seatId;
     }
 
+    /**
+     * Limits the time the strategy gets for choosing a card or a trumpf. A decision which is not made in time is
+     * interrupted and the fallback strategy decides instead. Without a timeout the strategy is called directly.
+     */
+    public void setDecisionTimeout(long timeoutMillis) {
+        this.decisionTimeoutMillis = timeoutMillis;
+    }
+
     public String getName() {
         return name;
     }
@@ -60,6 +85,10 @@ public class Player {
         return cards;
     }
 
+    public CardSet getCardSet() {
+        return CardSet.from(cards);
+    }
+
     public void setCards(Set<Card> cards) {
         this.cards.clear();
         this.cards.addAll(cards);
@@ -73,43 +102,126 @@ public class Player {
     }
 
     private Card chooseCardWithFallback(GameSession session) {
-        final Card cardToPlay = currentJassStrategy.chooseCard(cards, session);
+        final Card cardToPlay = decideInTime(
+                availableCards -> currentJassStrategy.chooseCard(availableCards, session),
+                availableCards -> fallbackStrategy.chooseCard(availableCards, session));
         final boolean cardIsInvalid = !session.getCurrentRound().getMode().canPlayCard(
                 cardToPlay,
-                session.getCurrentRound().getPlayedCards(),
+                session.getCurrentRound().getPlayedCardSet(),
                 session.getCurrentRound().getRoundColor(),
-                cards);
+                getCardSet());
         if(cardIsInvalid) {
             logger.error("Your strategy tried to play an invalid card. Playing random card instead!");
-            return new FloJassStrategy().chooseCard(cards, session);
+            return fallbackStrategy.chooseCard(cards, session);
         }
         return cardToPlay;
     }
 
     public Mode chooseTrumpf(GameSession session, boolean shifted) {
-        return currentJassStrategy.chooseTrumpf(cards, session, shifted);
+        return decideInTime(
+                availableCards -> currentJassStrategy.chooseTrumpf(availableCards, session, shifted),
+                availableCards -> fallbackStrategy.chooseTrumpf(availableCards, session, shifted));
     }
 
     public void onMoveMade(Move move, GameSession session) {
+        awaitLateDecision();
         currentJassStrategy.onMoveMade(move, session);
     }
 
+    public void ponder(GameSession session) {
+        awaitLateDecision();
+        currentJassStrategy.ponder(cards, this, session);
+    }
+
     public void onSessionFinished() {
+        awaitLateDecision();
         currentJassStrategy.onSessionFinished();
+        if (decisionExecutor != null) {
+            decisionExecutor.shutdown();
+            decisionExecutor = null;
+        }
     }
 
     public void onGameFinished() {
+        awaitLateDecision();
         currentJassStrategy.onGameFinished();
     }
 
     public void onGameStarted(GameSession session) {
+        awaitLateDecision();
         currentJassStrategy.onGameStarted(session);
     }
 
     public void onSessionStarted(GameSession session) {
+        awaitLateDecision();
         currentJassStrategy.onSessionStarted(session);
     }
 
+    /**
+     * Runs the decision of the strategy on the decision thread and waits until the timeout is reached. A late
+     * decision is interrupted and the fallback decides on the current thread.
+     */
+    private <T> T decideInTime(Function<Set<Card>, T> decision, Function<Set<Card>, T> fallback) {
+        if (decisionTimeoutMillis == NO_DECISION_TIMEOUT) return decision.apply(cards);
+
+        final Set<Card> availableCards = EnumSet.copyOf(cards);
+        final Future<T> future = getDecisionExecutor().submit(() -> decision.apply(availableCards));
+        try {
+            return future.get(decisionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.error("Your strategy did not decide within {} ms. Using the fallback strategy instead!", decisionTimeoutMillis);
+            return cancelDecision(future, fallback);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return cancelDecision(future, fallback);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException("The strategy failed to decide", e.getCause());
+        }
+    }
+
+    private <T> T cancelDecision(Future<T> future, Function<Set<Card>, T> fallback) {
+        future.cancel(true);
+        decisionIsLate = true;
+        return fallback.apply(cards);
+    }
+
+    /**
+     * Waits until a decision which was cancelled has really stopped, so neither the strategy nor the session it reads
+     * is used by two threads. Has to be called before the session is changed, so this also waits when the thread is
+     * interrupted.
+     */
+    public void awaitLateDecision() {
+        if (!decisionIsLate) return;
+
+        final Future<?> decisionStopped = decisionExecutor.submit(() -> {});
+        boolean interrupted = false;
+        while (decisionIsLate) {
+            try {
+                decisionStopped.get();
+                decisionIsLate = false;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Could not wait for the late decision", e.getCause());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService getDecisionExecutor() {
+        if (decisionExecutor == null) {
+            decisionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "decision-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return decisionExecutor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,7 @@
 package com.zuehlke.jasschallenge.client.game;
 
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 
@@ -8,13 +9,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import static java.util.stream.Collectors.toSet;
-
 public class Round {
     private final Mode mode;
     private final int roundNumber;
     private final PlayingOrder playingOrder;
     private final List<Move> moves = new ArrayList<>();
+    private long playedCards = 0L;
 
     public static Round createRound(Mode gameMode, int roundNumber, PlayingOrder playingOrder) {
         return new Round(gameMode, roundNumber, playingOrder);
@@ -33,6 +33,7 @@ public class Round {
             throw new RuntimeException("Only four card can be played in a round");
 
         moves.add(move);
+        playedCards |= CardSet.mask(move.getPlayedCard());
         playingOrder.moveToNextPlayer();
     }
 
@@ -42,13 +43,15 @@ public class Round {
 
     public int calculateScore() {
 
-        return mode.calculateRoundScore(roundNumber, getPlayedCards());
+        return mode.calculateRoundScore(roundNumber, playedCards);
     }
 
     public Set<Card> getPlayedCards() {
-        return moves.stream()
-                .map(Move::getPlayedCard)
-                .collect(toSet());
+        return getPlayedCardSet().toSet();
+    }
+
+    public CardSet getPlayedCardSet() {
+        return CardSet.of(playedCards);
     }
 
     public Color getRoundColor() {
@@ -4,143 +4,110 @@ import com.zuehlke.jasschallenge.Application;
 import com.zuehlke.jasschallenge.client.game.*;
 import com.zuehlke.jasschallenge.game.Trumpf;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.CardValue;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+/**
+ * A rule based strategy. Works on card masks like {@link CardSet} and takes the played cards from the
+ * {@link CardTracker} of the session, so a decision does not allocate and the strategy keeps no state.
+ */
 public class FloJassStrategy implements JassStrategy {
-    private List<Card> playedCardsInGame;
-    private static final List<Card> ALL_CARDS = Arrays.asList(Card.values());
+    private static final Color[] COLORS = Color.values();
+    private static final Color[] COLORS_AFTER_CLUBS = {Color.DIAMONDS, Color.HEARTS, Color.SPADES};
+    private static final long CARDS_OF_LOWEST_VALUE = CardSet.ALL_CARDS_MASK / ((1L << CardSet.CARDS_PER_COLOR) - 1);
+    private static final int VALUE_MASK = (1 << CardSet.CARDS_PER_COLOR) - 1;
+    private static final int JACK_AND_NINE = valueMask(CardValue.JACK) | valueMask(CardValue.NINE);
+    private static final int NINE_AND_ACE = valueMask(CardValue.NINE) | valueMask(CardValue.ACE);
+    private static final int MAX_FIXED_STICHE_PER_COLOR = 4;
+    private static final int[] HIGHER_TRUMPF_VALUES = createHigherTrumpfValues();
 
     @Override
     public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
-        if (topDown(availableCards, isGschobe)) {
+        final long cards = CardSet.maskOf(availableCards);
+        if (topDown(cards, isGschobe)) {
             return Mode.topDown();
         }
-        if (bottomUp(availableCards, isGschobe)) {
+        if (bottomUp(cards, isGschobe)) {
             return Mode.bottomUp();
         }
-        return trump(availableCards, isGschobe);
+        return trump(cards, isGschobe);
     }
 
-    private Mode trump(Set<Card> availableCards, boolean isGschobe) {
-        Map<Color, List<Card>> cardsByColor = new HashMap<>();
-        Map<Color, Boolean> jackNineByColor= new HashMap<>();
-        Map<Color, Boolean> nineAceByColor = new HashMap<>();
-        for (Color color : Color.values()) {
-            List<Card> cardsByThisColor = availableCards.stream().filter(c -> c.getColor() == color).collect(Collectors.toList());
-            cardsByColor.put(color, cardsByThisColor);
-            jackNineByColor.put(color, cardsByThisColor.stream().filter(c -> c.getValue() == CardValue.JACK || c.getValue() == CardValue.NINE).collect(Collectors.toList()).size() == 2);
-            nineAceByColor.put(color, cardsByThisColor.stream().filter(c -> c.getValue() == CardValue.NINE || c.getValue() == CardValue.ACE).collect(Collectors.toList()).size() == 2);
+    private Mode trump(long cards, boolean isGschobe) {
+        //Must at least have three of the color with jack and nine!
+        Color color = colorWithMostCards(cards, JACK_AND_NINE, 2);
+        if (color == null) {
+            //Must at least have four of the color with nine and ace!
+            color = colorWithMostCards(cards, NINE_AND_ACE, 3);
         }
-
-
-        //Check multiple JackNineThird:
-        if (jackNineByColor.values().stream().findAny().isPresent()) {
-            Mode result = Mode.shift();
-            //Must at least have three of the color!
-            int max = 2;
-            for (Color color : Color.values()) {
-                if (jackNineByColor.get(color) && cardsByColor.get(color).size() > max) {
-                    result = Mode.from(Trumpf.TRUMPF, color);
-                    max = cardsByColor.get(color).size();
-                }
-            }
-            if (result.getTrumpfName() == Trumpf.TRUMPF) {
-                return result;
-            }
-        }
-        if (nineAceByColor.values().stream().findAny().isPresent()) {
-            Mode result = Mode.shift();
-            //Must at least have four of the color!
-            int max = 3;
-            for (Color color : Color.values()) {
-                if (nineAceByColor.get(color) && cardsByColor.get(color).size() > max) {
-                    result = Mode.from(Trumpf.TRUMPF, color);
-                    max = cardsByColor.get(color).size();
-                }
-            }
-            if (result.getTrumpfName() == Trumpf.TRUMPF) {
-                return result;
-            }
+        if (color == null) {
+            //Must at least have five of the color!
+            color = colorWithMostCards(cards, 0, 4);
         }
-        //Must at least have five of the color!
-        Mode result = Mode.shift();
-        int max = 4;
-        for (Color color : Color.values()) {
-            if (cardsByColor.get(color).size() > max) {
-                result = Mode.from(Trumpf.TRUMPF, color);
-                max = cardsByColor.get(color).size();
-            }
-        }
-        if (result.getTrumpfName() == Trumpf.TRUMPF) {
-            return result;
+        if (color != null) {
+            return Mode.from(Trumpf.TRUMPF, color);
         }
-        long colorsWithCards = cardsByColor.values().stream().filter(list -> !list.isEmpty()).count();
-        if (!isGschobe && colorsWithCards == 4) {
+        if (!isGschobe && hasAllColors(cards)) {
             //Shift if all colors present
             return Mode.shift();
         }
         //Hail mary!
-        max = 0;
-        for (Color color : Color.values()) {
-            if (cardsByColor.get(color).size() > max) {
-                result = Mode.from(Trumpf.TRUMPF, color);
-                max = cardsByColor.get(color).size();
+        color = colorWithMostCards(cards, 0, 0);
+        return color != null ? Mode.from(Trumpf.TRUMPF, color) : Mode.shift();
+    }
+
+    /**
+     * @return the first color with the most cards among the colors with all required values and more than
+     * {@code minSize} cards, or {@code null}
+     */
+    private static Color colorWithMostCards(long cards, int requiredValues, int minSize) {
+        Color result = null;
+        int max = minSize;
+        for (Color color : COLORS) {
+            final int values = values(cards, color);
+            if ((values & requiredValues) == requiredValues && Integer.bitCount(values) > max) {
+                result = color;
+                max = Integer.bitCount(values);
             }
         }
         return result;
     }
 
-    private boolean topDown(Set<Card> availableCards, boolean isGschobe) {
-        List<Card> aces = availableCards.stream().filter(c -> c.getValue() == CardValue.ACE).collect(Collectors.toList());
-        int fixedStich = aces.size();
-        List<Card> matchingKings = new ArrayList<>();
-        for (Card ace : aces) {
-            matchingKings.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.KING && c.getColor() == ace.getColor()).collect(Collectors.toList()));
-        }
-        fixedStich += matchingKings.size();
-
-        List<Card> matchingQueens = new ArrayList<>();
-        for (Card king : matchingKings) {
-            matchingQueens.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.QUEEN && c.getColor() == king.getColor()).collect(Collectors.toList()));
+    private static boolean hasAllColors(long cards) {
+        for (Color color : COLORS) {
+            if (values(cards, color) == 0) return false;
         }
-        fixedStich += matchingQueens.size();
-
-        List<Card> matchingJacks = new ArrayList<>();
-        for (Card queen : matchingQueens) {
-            matchingJacks.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.JACK && c.getColor() == queen.getColor()).collect(Collectors.toList()));
-        }
-        fixedStich += matchingJacks.size();
-
-        return fixedStich >= 4 && (!isGschobe || aces.size() >= 3);
+        return true;
     }
 
-    private boolean bottomUp(Set<Card> availableCards, boolean isGschobe) {
-        List<Card> sixes = availableCards.stream().filter(c -> c.getValue() == CardValue.SIX).collect(Collectors.toList());
-        int fixedStich = sixes.size();
-        List<Card> matchingSevens = new ArrayList<>();
-        for (Card six : sixes) {
-            matchingSevens.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.SEVEN && c.getColor() == six.getColor()).collect(Collectors.toList()));
+    /**
+     * Counts the sure stiche in top down: every ace followed by the king, queen and jack of its color as long as
+     * there are no gaps.
+     */
+    private boolean topDown(long cards, boolean isGschobe) {
+        int aces = 0;
+        int fixedStich = 0;
+        for (Color color : COLORS) {
+            final int values = values(cards, color);
+            aces += values >>> CardValue.ACE.ordinal();
+            fixedStich += Math.min(MAX_FIXED_STICHE_PER_COLOR, Integer.numberOfLeadingZeros(~values << (Integer.SIZE - CardSet.CARDS_PER_COLOR)));
         }
-        fixedStich += matchingSevens.size();
-
-        List<Card> matchingEights = new ArrayList<>();
-        for (Card seven : matchingSevens) {
-            matchingEights.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.EIGHT && c.getColor() == seven.getColor()).collect(Collectors.toList()));
-        }
-        fixedStich += matchingEights.size();
+        return fixedStich >= 4 && (!isGschobe || aces >= 3);
+    }
 
-        List<Card> matchingNines = new ArrayList<>();
-        for (Card eight : matchingEights) {
-            matchingNines.addAll(availableCards.stream().filter(c -> c.getValue() == CardValue.NINE && c.getColor() == eight.getColor()).collect(Collectors.toList()));
+    private boolean bottomUp(long cards, boolean isGschobe) {
+        int sixes = 0;
+        int fixedStich = 0;
+        for (Color color : COLORS) {
+            final int values = values(cards, color);
+            sixes += values & 1;
+            fixedStich += Math.min(MAX_FIXED_STICHE_PER_COLOR, Integer.numberOfTrailingZeros(~values));
         }
-        fixedStich += matchingNines.size();
-
-        return fixedStich >= 4 && (!isGschobe || sixes.size() >= 3);
+        return fixedStich >= 4 && (!isGschobe || sixes >= 3);
     }
 
     @Override
@@ -148,121 +115,163 @@ public class FloJassStrategy implements JassStrategy {
         final Game currentGame = session.getCurrentGame();
         final Round round = currentGame.getCurrentRound();
         final Mode gameMode = round.getMode();
+        final long roundCards = round.getPlayedCardSet().mask();
+        final long trumpfCards = gameMode.getTrumpfColor() != null ? CardSet.colorMask(gameMode.getTrumpfColor()) : 0L;
 
-        List<Card> playableCards = availableCards.stream()
-                .filter(card -> gameMode.canPlayCard(card, round.getPlayedCards(), round.getRoundColor(), availableCards)).collect(Collectors.toList());
-        if (round.getPlayedCards().isEmpty()) {
+        final long playableCards = gameMode.legalMoves(CardSet.maskOf(availableCards), roundCards, round.getRoundColor());
+        if (roundCards == 0L) {
             //I'm going first!
-            return chooseBockOrLowestCardOfColorWithMostCards(playableCards, gameMode);
+            return chooseBockOrLowestCardOfColorWithMostCards(playableCards, gameMode, trumpfCards, session.getCardTracker().getPlayedCards());
         }
 
         Player winner = round.getWinner();
         boolean myStich = winner != null && Application.BOT_NAME.equals(winner.getName());
         if (myStich) {
-            return getLowestWithTrumpf(playableCards, gameMode);
+            return getLowestWithTrumpf(playableCards, trumpfCards);
         }
 
         //Check if I can stich w/o trumpf
-        Card highestPlayedCard = round.getPlayedCards().stream().sorted(Comparator.comparingInt(o -> -o.getValue().getRank())).findFirst().get();
-        Optional<Card> highestNonTrumpCardWhichStichs = playableCards.stream().
-                filter(card -> card.getColor() != gameMode.getTrumpfColor() && card.getColor() == highestPlayedCard.getColor() && card.isHigherThan(highestPlayedCard)).
-                sorted(Comparator.comparingInt(o -> - o.getValue().getRank())).findFirst();
-        if (highestNonTrumpCardWhichStichs.isPresent())
-            return highestNonTrumpCardWhichStichs.get();
+        final Card highestPlayedCard = getHighest(roundCards);
+        final long highestNonTrumpCardsWhichStich = playableCards & ~trumpfCards & higherCards(highestPlayedCard);
+        if (highestNonTrumpCardsWhichStich != 0L)
+            return getHighest(highestNonTrumpCardsWhichStich);
 
         //Check if I can check w/ trumpf
-        Optional<Card> highestPlayedTrumpfCard = round.getPlayedCards().stream().filter(card -> card.getColor() == gameMode.getTrumpfColor()).sorted(Comparator.comparingInt(o -> -o.getValue().getRank())).findFirst();
-        Optional<Card> lowestTrumpfCardWhichStichs = playableCards.stream().
-                filter(card -> card.getColor() == gameMode.getTrumpfColor() && (!highestPlayedTrumpfCard.isPresent() || card.isHigherTrumpfThan(highestPlayedTrumpfCard.get()))).
-                sorted(Comparator.comparingInt(o -> o.getValue().getRank())).findFirst();
-        if (lowestTrumpfCardWhichStichs.isPresent())
-            return lowestTrumpfCardWhichStichs.get();
+        long trumpfCardsWhichStich = playableCards & trumpfCards;
+        if ((roundCards & trumpfCards) != 0L) {
+            final Card highestPlayedTrumpfCard = getHighest(roundCards & trumpfCards);
+            trumpfCardsWhichStich &= (long) HIGHER_TRUMPF_VALUES[highestPlayedTrumpfCard.getValue().ordinal()] << colorShift(highestPlayedTrumpfCard.getColor());
+        }
+        if (trumpfCardsWhichStich != 0L)
+            return getLowest(trumpfCardsWhichStich);
 
-        return getLowestWithTrumpf(playableCards, gameMode);
+        return getLowestWithTrumpf(playableCards, trumpfCards);
     }
 
-    private Card getLowestWithTrumpf(List<Card> playableCards, Mode gameMode) {
-        Optional<Card> lowestNonTrumpCard = playableCards.stream().filter(card -> card.getColor() != gameMode.getTrumpfColor()).sorted(Comparator.comparingInt(o -> o.getValue().getRank())).findFirst();
-        if (lowestNonTrumpCard.isPresent())
-            return lowestNonTrumpCard.get();
-        return playableCards.stream().filter(card -> card.getColor() == gameMode.getTrumpfColor()).sorted(Comparator.comparingInt(o -> o.getValue().getRank())).findFirst().orElseThrow(() -> new RuntimeException("There should always be a card to play"));
+    private Card getLowestWithTrumpf(long playableCards, long trumpfCards) {
+        if ((playableCards & ~trumpfCards) != 0L)
+            return getLowest(playableCards & ~trumpfCards);
+        if ((playableCards & trumpfCards) == 0L)
+            throw new RuntimeException("There should always be a card to play");
+        return getLowest(playableCards & trumpfCards);
     }
 
-    private Card chooseBockOrLowestCardOfColorWithMostCards(List<Card> playableCards, Mode gameMode) {
-        List<Card> bocks = playableCards.stream().filter(c -> isBock(gameMode, c)).collect(Collectors.toList());
-        //I have a bock
-        if (!bocks.isEmpty()) {
-            return bocks.get(0);
+    /**
+     * Plays the first bock, otherwise the lowest card of the color with the most cards. Clubs are checked first, a
+     * later color replaces the choice whenever it has more cards than clubs.
+     */
+    private Card chooseBockOrLowestCardOfColorWithMostCards(long playableCards, Mode gameMode, long trumpfCards, long playedCards) {
+        for (long cards = playableCards; cards != 0L; cards = CardSet.removeFirst(cards)) {
+            final Card card = CardSet.first(cards);
+            if (isBock(gameMode, card, trumpfCards, playedCards)) {
+                //I have a bock
+                return card;
+            }
         }
 
         //Playing lowest card of color with most cards
-        Card result = playableCards.get(0);
-        List<Card> clubs = playableCards.stream().filter(c -> c.getColor() == Color.CLUBS).collect(Collectors.toList());
-        List<Card> spades = playableCards.stream().filter(c -> c.getColor() == Color.SPADES).collect(Collectors.toList());
-        List<Card> hearts = playableCards.stream().filter(c -> c.getColor() == Color.HEARTS).collect(Collectors.toList());
-        List<Card> diamonds = playableCards.stream().filter(c -> c.getColor() == Color.DIAMONDS).collect(Collectors.toList());
-        int max = 0;
-        if (clubs.size() > max) {
-            result = getLowest(clubs);
-            max = clubs.size();
+        Card result = CardSet.first(playableCards);
+        final int clubs = CardSet.size(playableCards & CardSet.colorMask(Color.CLUBS));
+        if (clubs > 0) {
+            result = getLowest(playableCards & CardSet.colorMask(Color.CLUBS));
         }
-        if (diamonds.size() > max) {
-            result = getLowest(diamonds);
-            max = clubs.size();
-        }
-        if (hearts.size() > max) {
-            result = getLowest(hearts);
-            max = clubs.size();
-        }
-        if (spades.size() > max) {
-            result = getLowest(spades);
+        for (Color color : COLORS_AFTER_CLUBS) {
+            if (CardSet.size(playableCards & CardSet.colorMask(color)) > clubs) {
+                result = getLowest(playableCards & CardSet.colorMask(color));
+            }
         }
         return result;
     }
 
-    private Card getLowest(List<Card> cards) {
-        Card result;
-        cards.sort(Comparator.comparingInt(o -> o.getValue().getRank()));
-        result = cards.get(0);
-        return result;
+    /**
+     * @return the lowest card by rank, the first one in card order if several colors have it
+     */
+    private static Card getLowest(long cards) {
+        final int value = Integer.numberOfTrailingZeros(allValues(cards));
+        return firstCardOfValue(cards, value);
+    }
+
+    /**
+     * @return the highest card by rank, the first one in card order if several colors have it
+     */
+    private static Card getHighest(long cards) {
+        final int value = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(allValues(cards));
+        return firstCardOfValue(cards, value);
     }
 
-    private boolean isBock(Mode mode, Card c) {
+    private static Card firstCardOfValue(long cards, int value) {
+        return CardSet.first(cards & CARDS_OF_LOWEST_VALUE << value);
+    }
+
+    private boolean isBock(Mode mode, Card c, long trumpfCards, long playedCards) {
         Trumpf trumpfName = mode.getTrumpfName();
-        List<Card> playedCardsOfSameColor = playedCardsInGame.stream().filter(card -> card.getColor() == c.getColor()).collect(Collectors.toList());
-        List<Card> missingCardsOfColor = ALL_CARDS.stream().filter(card -> card.getColor() == c.getColor() && !playedCardsOfSameColor.contains(card)).collect(Collectors.toList());
+        final long missingCardsOfColor = CardSet.colorMask(c.getColor()) & ~playedCards;
         if (trumpfName == Trumpf.OBEABE) {
-            List<Card> higherMissingCards = missingCardsOfColor.stream().filter(card -> card.isHigherThan(c)).collect(Collectors.toList());
-            return higherMissingCards.isEmpty();
+            return (missingCardsOfColor & higherCards(c)) == 0L;
         } else if (trumpfName == Trumpf.UNDEUFE) {
             if (c.getValue() == CardValue.SIX) {
-                return  true;
+                return true;
             }
-            List<Card> lowerMissingCards = missingCardsOfColor.stream().filter(card -> card.isLowerThan(c)).collect(Collectors.toList());
-            return lowerMissingCards.isEmpty();
+            return (missingCardsOfColor & lowerCards(c)) == 0L;
         }
-        Color trumpfColor = mode.getTrumpfColor();
-        if (c.getColor() == trumpfColor) {
-            List<Card> higherMissingCards = missingCardsOfColor.stream().filter(card -> card.isHigherThan(c)).collect(Collectors.toList());
-            return higherMissingCards.isEmpty();
+        if ((CardSet.mask(c) & trumpfCards) != 0L) {
+            return (missingCardsOfColor & higherCards(c)) == 0L;
         }
 
-        long playedTrumpfs = playedCardsInGame.stream().filter(card -> card.getColor() == trumpfColor).count();
-        if (playedTrumpfs < 9) {
+        if (trumpfCards == 0L || (playedCards & trumpfCards) != trumpfCards) {
             return false;
         }
 
-        List<Card> higherMissingCards = missingCardsOfColor.stream().filter(card -> card.isHigherThan(c)).collect(Collectors.toList());
-        return higherMissingCards.isEmpty();
+        return (missingCardsOfColor & higherCards(c)) == 0L;
     }
 
-    @Override
-    public void onMoveMade(Move move, GameSession session) {
-        playedCardsInGame.add(move.getPlayedCard());
+    /**
+     * @return the cards of the same color with a higher rank
+     */
+    private static long higherCards(Card card) {
+        return (long) (VALUE_MASK & ~((2 << card.getValue().ordinal()) - 1)) << colorShift(card.getColor());
     }
 
-    @Override
-    public void onGameStarted(GameSession session) {
-        playedCardsInGame = new ArrayList<>();
+    /**
+     * @return the cards of the same color with a lower rank
+     */
+    private static long lowerCards(Card card) {
+        return (long) ((1 << card.getValue().ordinal()) - 1) << colorShift(card.getColor());
+    }
+
+    /**
+     * @return the values of the cards of the color, one bit per {@link CardValue} ordinal
+     */
+    private static int values(long cards, Color color) {
+        return (int) (cards >>> colorShift(color)) & VALUE_MASK;
+    }
+
+    private static int allValues(long cards) {
+        int values = 0;
+        for (Color color : COLORS) {
+            values |= values(cards, color);
+        }
+        return values;
+    }
+
+    private static int colorShift(Color color) {
+        return color.ordinal() * CardSet.CARDS_PER_COLOR;
+    }
+
+    private static int valueMask(CardValue value) {
+        return 1 << value.ordinal();
+    }
+
+    private static int[] createHigherTrumpfValues() {
+        final CardValue[] values = CardValue.values();
+        final int[] higherTrumpfValues = new int[values.length];
+        for (CardValue value : values) {
+            for (CardValue other : values) {
+                if (other.getTrumpfRank() > value.getTrumpfRank()) {
+                    higherTrumpfValues[value.ordinal()] |= valueMask(other);
+                }
+            }
+        }
+        return higherTrumpfValues;
     }
 }
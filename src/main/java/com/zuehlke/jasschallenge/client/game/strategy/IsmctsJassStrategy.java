@@ -0,0 +1,234 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.game.CardTracker;
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.client.game.Round;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import com.zuehlke.jasschallenge.game.search.DealSampler;
+import com.zuehlke.jasschallenge.game.search.GameState;
+import com.zuehlke.jasschallenge.game.search.InformationSetSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays the card found by an {@link InformationSetSearch}. Unlike {@link PimcJassStrategy} the statistics of all deals
+ * are collected in one tree, so no deal has to be solved completely, which pays off in the first rounds of a game.
+ * The search runs until the time budget of the decision is used up.
+ * <br><br>
+ * The tree is kept for the whole game and follows the cards which are played, so the next decision starts with the
+ * iterations which already went through its position. While the other players are thinking, the search goes on in
+ * the background. If the tree already got as many iterations as a full decision, {@link #chooseCard} only tops it up
+ * for a quarter of the time budget.
+ * <br><br>
+ * The trumpf is chosen by a {@link FloJassStrategy}, another one is the fallback when no deal matches the played
+ * cards.
+ */
+public class IsmctsJassStrategy implements JassStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsmctsJassStrategy.class);
+
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+    private static final int TOP_UP_DIVISOR = 4;
+    private static final long PONDER_SLICE_NANOS = 10_000_000;
+    private static final int NOT_IN_SYNC = -1;
+
+    private final JassStrategy trumpfStrategy = new FloJassStrategy();
+    private final JassStrategy fallbackStrategy;
+    private final InformationSetSearch search = new InformationSetSearch();
+    private final long timeBudgetNanos;
+    private final SplittableRandom random;
+
+    private ExecutorService ponderExecutor;
+    private Future<?> ponderTask;
+    private volatile boolean pondering;
+    private int treePlayedCards = NOT_IN_SYNC;
+    private int fullSearchIterations = Integer.MAX_VALUE;
+
+    public IsmctsJassStrategy() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, new SplittableRandom());
+    }
+
+    public IsmctsJassStrategy(long timeBudgetMillis, SplittableRandom random) {
+        this(timeBudgetMillis, random, new FloJassStrategy());
+    }
+
+    IsmctsJassStrategy(long timeBudgetMillis, SplittableRandom random, JassStrategy fallbackStrategy) {
+        this.fallbackStrategy = fallbackStrategy;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+        this.random = random;
+    }
+
+    @Override
+    public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
+        stopPondering();
+        return trumpfStrategy.chooseTrumpf(availableCards, session, isGschobe);
+    }
+
+    @Override
+    public Card chooseCard(Set<Card> availableCards, GameSession session) {
+        final long startTime = System.nanoTime();
+        stopPondering();
+        final Round round = session.getCurrentRound();
+        final long hand = CardSet.maskOf(availableCards);
+        final long legalMoves = round.getMode().legalMoves(hand, round.getPlayedCardSet().mask(), round.getRoundColor());
+        if (CardSet.size(legalMoves) == 1) return CardSet.first(legalMoves);
+
+        final int seat = session.getPlayersInPlayingOrder().indexOf(round.getPlayingOrder().getCurrentPlayer());
+        final Position position = new Position(hand, seat, session);
+        if (!position.matchesPlayedCards) return playFallbackCard(availableCards, session);
+
+        syncTree(session);
+        final boolean toppingUp = search.getRootVisits() >= fullSearchIterations;
+        final long deadline = startTime + (toppingUp ? timeBudgetNanos / TOP_UP_DIVISOR : timeBudgetNanos);
+        final Card card = search.search(position.state, position.unknownCards, position.handSizes, position.forbiddenCards, deadline, random);
+        if (card == null) return playFallbackCard(availableCards, session);
+        if (!toppingUp) {
+            fullSearchIterations = search.getIterations();
+        }
+
+        logger.debug("Searched {} iterations, played {} {} times", search.getRootVisits(), card, search.getVisits(card));
+        return card;
+    }
+
+    @Override
+    public void onGameStarted(GameSession session) {
+        stopPondering();
+        search.clear();
+        treePlayedCards = 0;
+        fallbackStrategy.onGameStarted(session);
+    }
+
+    @Override
+    public void onMoveMade(Move move, GameSession session) {
+        stopPondering();
+        if (treePlayedCards != NOT_IN_SYNC) {
+            search.playCard(move.getPlayedCard());
+            treePlayedCards++;
+        }
+        fallbackStrategy.onMoveMade(move, session);
+    }
+
+    @Override
+    public void ponder(Set<Card> availableCards, Player player, GameSession session) {
+        stopPondering();
+        final int seat = session.getPlayersInPlayingOrder().indexOf(player);
+        final Position position = new Position(CardSet.maskOf(availableCards), seat, session);
+        if (!position.matchesPlayedCards || position.state.isFinished()) return;
+
+        syncTree(session);
+        final SplittableRandom ponderRandom = random.split();
+        pondering = true;
+        ponderTask = getPonderExecutor().submit(() -> {
+            while (pondering) {
+                search.search(position.state, position.unknownCards, position.handSizes, position.forbiddenCards,
+                        System.nanoTime() + PONDER_SLICE_NANOS, ponderRandom);
+            }
+        });
+    }
+
+    @Override
+    public void onGameFinished() {
+        stopPondering();
+        treePlayedCards = NOT_IN_SYNC;
+    }
+
+    @Override
+    public void onSessionFinished() {
+        stopPondering();
+        if (ponderExecutor != null) {
+            ponderExecutor.shutdown();
+            ponderExecutor = null;
+        }
+    }
+
+    private Card playFallbackCard(Set<Card> availableCards, GameSession session) {
+        logger.warn("No deal matches the played cards, playing a card of the fallback strategy");
+        return fallbackStrategy.chooseCard(availableCards, session);
+    }
+
+    /**
+     * Starts a new tree if the root of the tree is not the position of the session, e.g. because some moves were
+     * missed.
+     */
+    private void syncTree(GameSession session) {
+        final int playedCards = CardSet.size(session.getCardTracker().getPlayedCards());
+        if (treePlayedCards != playedCards) {
+            search.clear();
+            treePlayedCards = playedCards;
+        }
+    }
+
+    private ExecutorService getPonderExecutor() {
+        if (ponderExecutor == null) {
+            ponderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "ismcts-ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return ponderExecutor;
+    }
+
+    /**
+     * Waits until the running slice of the background search is finished, so the tree can be used again. The slice
+     * is short, so this also waits when the thread is interrupted.
+     */
+    private void stopPondering() {
+        if (ponderTask == null) return;
+
+        pondering = false;
+        boolean interrupted = false;
+        while (ponderTask != null) {
+            try {
+                ponderTask.get();
+                ponderTask = null;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                logger.error("Pondering failed", e.getCause());
+                treePlayedCards = NOT_IN_SYNC;
+                ponderTask = null;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * What a seat knows about the current position of a game, with a sampled deal of the unknown cards. The state is
+     * only built if the deal matches the played cards.
+     */
+    private final class Position {
+        private final long unknownCards;
+        private final int[] handSizes = new int[GameState.NUMBER_OF_PLAYERS];
+        private final long[] forbiddenCards = new long[GameState.NUMBER_OF_PLAYERS];
+        private final boolean matchesPlayedCards;
+        private final GameState state;
+
+        private Position(long hand, int seat, GameSession session) {
+            final CardTracker tracker = session.getCardTracker();
+            unknownCards = tracker.getUnknownCards(hand);
+            for (int i = 0; i < GameState.NUMBER_OF_PLAYERS; i++) {
+                handSizes[i] = i == seat ? 0 : tracker.getNumberOfCards(i);
+                forbiddenCards[i] = tracker.getExcludedCards(i);
+            }
+
+            final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+            hands[seat] = hand;
+            matchesPlayedCards = DealSampler.sample(unknownCards, handSizes, forbiddenCards, hands, random);
+            state = matchesPlayedCards ? GameState.fromSession(session, hands) : null;
+        }
+    }
+}
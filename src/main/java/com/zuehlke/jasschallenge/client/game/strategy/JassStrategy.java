@@ -2,6 +2,7 @@ package com.zuehlke.jasschallenge.client.game.strategy;
 
 import com.zuehlke.jasschallenge.client.game.GameSession;
 import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
 import com.zuehlke.jasschallenge.game.cards.Card;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 
@@ -14,6 +15,12 @@ public interface JassStrategy {
     default void onSessionStarted(GameSession session) {}
     default void onGameStarted(GameSession session) {}
     default void onMoveMade(Move move, GameSession session) {}
+
+    /**
+     * Called after every card in a game against the server, while the other players are thinking. The strategy may
+     * search in the background until the next call of any other method.
+     */
+    default void ponder(Set<Card> availableCards, Player player, GameSession session) {}
     default void onGameFinished() {}
     default void onSessionFinished() {}
 }
@@ -0,0 +1,212 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.game.CardTracker;
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.client.game.Round;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import com.zuehlke.jasschallenge.game.search.AlphaBetaSolver;
+import com.zuehlke.jasschallenge.game.search.DealEnumerator;
+import com.zuehlke.jasschallenge.game.search.DealSampler;
+import com.zuehlke.jasschallenge.game.search.DoubleDummySolver;
+import com.zuehlke.jasschallenge.game.search.GameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Perfect information Monte Carlo: deals the unseen cards to the other players many times (consistent with what the
+ * {@link CardTracker} of the session knows about their hands), solves every deal with all hands open and plays the
+ * card with the best sum of values. The last rounds are solved exactly with a {@link DoubleDummySolver}, earlier rounds with a search limited
+ * to the next rounds. Samples are searched in parallel until the time budget of the decision is used up. Near the
+ * end of a game, when there are only few possible deals, every deal is searched once instead of sampling.
+ * <br><br>
+ * The trumpf is chosen by a {@link TrumpfEvaluator} with the same time budget, a {@link FloJassStrategy} is the
+ * fallback when the played cards are not known.
+ */
+public class PimcJassStrategy implements JassStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(PimcJassStrategy.class);
+
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+    private static final ThreadLocal<DoubleDummySolver> SOLVERS = ThreadLocal.withInitial(DoubleDummySolver::new);
+    private static final int FULL_SEARCH_ROUNDS = 5;
+    private static final int LIMITED_SEARCH_ROUNDS = 2;
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+    private static final long MAX_ENUMERATED_DEALS = 1000;
+
+    private final JassStrategy fallbackStrategy;
+    private final TrumpfEvaluator trumpfEvaluator;
+    private final long timeBudgetNanos;
+    private final int parallelism;
+    private final SplittableRandom random;
+
+    public PimcJassStrategy() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors(), new SplittableRandom());
+    }
+
+    public PimcJassStrategy(long timeBudgetMillis, int parallelism, SplittableRandom random) {
+        this(timeBudgetMillis, parallelism, random, new FloJassStrategy());
+    }
+
+    PimcJassStrategy(long timeBudgetMillis, int parallelism, SplittableRandom random, JassStrategy fallbackStrategy) {
+        this.fallbackStrategy = fallbackStrategy;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+        this.parallelism = parallelism;
+        this.random = random;
+        this.trumpfEvaluator = new TrumpfEvaluator(parallelism);
+    }
+
+    @Override
+    public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
+        final TrumpfEvaluation evaluation = trumpfEvaluator.evaluate(availableCards, System.nanoTime() + timeBudgetNanos, random);
+        logger.debug("Evaluated trumpf: {}", evaluation);
+        return evaluation.getBestMode(!isGschobe);
+    }
+
+    @Override
+    public Card chooseCard(Set<Card> availableCards, GameSession session) {
+        final long deadline = System.nanoTime() + timeBudgetNanos;
+        final Round round = session.getCurrentRound();
+        final long hand = CardSet.maskOf(availableCards);
+        final long legalMoves = round.getMode().legalMoves(hand, round.getPlayedCardSet().mask(), round.getRoundColor());
+        if (CardSet.size(legalMoves) == 1) return CardSet.first(legalMoves);
+
+        final List<Player> players = session.getPlayersInPlayingOrder();
+        final int seat = players.indexOf(round.getPlayingOrder().getCurrentPlayer());
+        final CardTracker tracker = session.getCardTracker();
+        final long unknownCards = tracker.getUnknownCards(hand);
+        final int[] handSizes = calculateHandSizes(round, players, seat);
+        if (Arrays.stream(handSizes).sum() != CardSet.size(unknownCards)) {
+            logger.warn("Played cards are not known, playing a card of the fallback strategy");
+            return fallbackStrategy.chooseCard(availableCards, session);
+        }
+
+        final int rounds = GameState.NUMBER_OF_ROUNDS - round.getRoundNumber() <= FULL_SEARCH_ROUNDS ? GameState.NUMBER_OF_ROUNDS : LIMITED_SEARCH_ROUNDS;
+        final long[] forbidden = new long[GameState.NUMBER_OF_PLAYERS];
+        for (int i = 0; i < forbidden.length; i++) {
+            forbidden[i] = tracker.getExcludedCards(i);
+        }
+        final SplittableRandom[] randoms = new SplittableRandom[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            randoms[i] = random.split();
+        }
+
+        final boolean enumerate = DealEnumerator.countDeals(handSizes) <= MAX_ENUMERATED_DEALS;
+        final long[] values = IntStream.range(0, parallelism).parallel()
+                .mapToObj(worker -> enumerate
+                        ? searchAllDeals(session, seat, hand, legalMoves, unknownCards, handSizes, forbidden, rounds, deadline, worker, parallelism)
+                        : searchSamples(session, seat, hand, legalMoves, unknownCards, handSizes, forbidden, rounds, deadline, worker, randoms[worker]))
+                .reduce(new long[NUMBER_OF_CARDS + 1], PimcJassStrategy::addValues);
+
+        logger.debug("Searched {} {}", values[NUMBER_OF_CARDS], enumerate ? "deals" : "samples");
+        if (values[NUMBER_OF_CARDS] == 0) {
+            logger.warn("No deal matches the played cards, playing a card of the fallback strategy");
+            return fallbackStrategy.chooseCard(availableCards, session);
+        }
+        return chooseBestCard(legalMoves, values);
+    }
+
+    @Override
+    public void onGameStarted(GameSession session) {
+        fallbackStrategy.onGameStarted(session);
+    }
+
+    @Override
+    public void onMoveMade(Move move, GameSession session) {
+        fallbackStrategy.onMoveMade(move, session);
+    }
+
+    private static int[] calculateHandSizes(Round round, List<Player> players, int seat) {
+        final int[] handSizes = new int[GameState.NUMBER_OF_PLAYERS];
+        Arrays.fill(handSizes, GameState.NUMBER_OF_ROUNDS - round.getRoundNumber());
+        for (Move move : round.getMoves()) {
+            handSizes[players.indexOf(move.getPlayer())]--;
+        }
+        handSizes[seat] = 0;
+        return handSizes;
+    }
+
+    /**
+     * Searches samples until the deadline is reached. The first worker searches at least one sample, the others may
+     * not start at all when the deadline was reached. Samples which do not match what is known about the hands are
+     * skipped and not counted.
+     *
+     * @return the sum of values per card, and the number of samples in the last element
+     */
+    private static long[] searchSamples(GameSession session, int seat, long hand, long legalMoves, long unknownCards, int[] handSizes,
+                                        long[] forbiddenCards, int rounds, long deadline, int worker, SplittableRandom random) {
+        final AlphaBetaSolver limitedSolver = new AlphaBetaSolver();
+        final long[] values = new long[NUMBER_OF_CARDS + 1];
+        int skippedSamples = 0;
+        for (int sample = 0; (sample == 0 && worker == 0) || System.nanoTime() < deadline; sample++) {
+            final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+            hands[seat] = hand;
+            if (!DealSampler.sample(unknownCards, handSizes, forbiddenCards, hands, random)) {
+                skippedSamples++;
+                continue;
+            }
+
+            searchDeal(GameState.fromSession(session, hands), legalMoves, rounds, limitedSolver, values);
+        }
+        if (skippedSamples > 0) {
+            logger.debug("Skipped {} samples which do not match the played cards", skippedSamples);
+        }
+        return values;
+    }
+
+    /**
+     * Searches every deal whose number modulo the number of workers is the number of the worker. If the deadline is
+     * reached before, the deals searched so far are used.
+     */
+    private static long[] searchAllDeals(GameSession session, int seat, long hand, long legalMoves, long unknownCards, int[] handSizes,
+                                         long[] forbiddenCards, int rounds, long deadline, int worker, int numberOfWorkers) {
+        final AlphaBetaSolver limitedSolver = new AlphaBetaSolver();
+        final long[] values = new long[NUMBER_OF_CARDS + 1];
+        final DealEnumerator enumerator = new DealEnumerator(unknownCards, handSizes, forbiddenCards);
+        final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+        hands[seat] = hand;
+        for (int deal = 0; enumerator.next(hands) && System.nanoTime() < deadline; deal++) {
+            if (deal % numberOfWorkers != worker) continue;
+
+            searchDeal(GameState.fromSession(session, hands), legalMoves, rounds, limitedSolver, values);
+        }
+        return values;
+    }
+
+    private static void searchDeal(GameState state, long legalMoves, int rounds, AlphaBetaSolver limitedSolver, long[] values) {
+        final DoubleDummySolver solver = SOLVERS.get();
+        for (long moves = legalMoves; moves != 0L; moves &= moves - 1) {
+            final int card = Long.numberOfTrailingZeros(moves);
+            values[card] += rounds == GameState.NUMBER_OF_ROUNDS
+                    ? solver.solveMove(state, card)
+                    : limitedSolver.solveMove(state, card, rounds);
+        }
+        values[NUMBER_OF_CARDS]++;
+    }
+
+    private static long[] addValues(long[] a, long[] b) {
+        final long[] sum = new long[a.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+    private static Card chooseBestCard(long legalMoves, long[] values) {
+        int bestCard = Long.numberOfTrailingZeros(legalMoves);
+        for (long moves = legalMoves; moves != 0L; moves &= moves - 1) {
+            final int card = Long.numberOfTrailingZeros(moves);
+            if (values[card] > values[bestCard]) bestCard = card;
+        }
+        return CardSet.card(bestCard);
+    }
+}
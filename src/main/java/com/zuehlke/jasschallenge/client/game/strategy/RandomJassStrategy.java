@@ -4,6 +4,7 @@ import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.client.game.GameSession;
 import com.zuehlke.jasschallenge.client.game.Round;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 
 import java.util.*;
@@ -11,10 +12,7 @@ import java.util.*;
 public class RandomJassStrategy implements JassStrategy {
     @Override
     public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
-        final List<Mode> allPossibleModes = Mode.standardModes();
-        if (!isGschobe) {
-            allPossibleModes.add(Mode.shift());
-        }
+        final List<Mode> allPossibleModes = isGschobe ? Mode.standardModes() : Mode.allModes();
         return allPossibleModes.get(new Random().nextInt(allPossibleModes.size()));
     }
 
@@ -24,9 +22,9 @@ public class RandomJassStrategy implements JassStrategy {
         final Round round = currentGame.getCurrentRound();
         final Mode gameMode = round.getMode();
 
-        return availableCards.stream()
-                    .filter(card -> gameMode.canPlayCard(card, round.getPlayedCards(), round.getRoundColor(), availableCards))
-                    .findAny()
-                    .orElseThrow(() -> new RuntimeException("There should always be a card to play"));
+        final CardSet playableCards = gameMode.legalMoves(CardSet.from(availableCards), round.getPlayedCardSet(), round.getRoundColor());
+        if (playableCards.isEmpty()) throw new RuntimeException("There should always be a card to play");
+
+        return CardSet.first(playableCards.mask());
     }
 }
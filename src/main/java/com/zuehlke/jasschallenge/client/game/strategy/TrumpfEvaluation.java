@@ -0,0 +1,61 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.Locale;
+
+/**
+ * Expected points of the team choosing the trumpf, for every standard mode and for shifting, as estimated by a
+ * {@link TrumpfEvaluator}.
+ */
+public class TrumpfEvaluation {
+
+    private final long[] pointsPerMode;
+    private final long shiftPoints;
+    private final long numberOfSamples;
+
+    TrumpfEvaluation(long[] pointsPerMode, long shiftPoints, long numberOfSamples) {
+        this.pointsPerMode = pointsPerMode;
+        this.shiftPoints = shiftPoints;
+        this.numberOfSamples = numberOfSamples;
+    }
+
+    public long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    public double getExpectedPoints(Mode mode) {
+        if (mode == Mode.shift()) return getExpectedShiftPoints();
+
+        return (double) pointsPerMode[mode.getOrdinal()] / numberOfSamples;
+    }
+
+    /**
+     * @return the expected points if the partner chooses the trumpf
+     */
+    public double getExpectedShiftPoints() {
+        return (double) shiftPoints / numberOfSamples;
+    }
+
+    /**
+     * @return the standard mode with the most expected points, or {@link Mode#shift()} if shifting is allowed and
+     * expected to give more
+     */
+    public Mode getBestMode(boolean isShiftPossible) {
+        Mode bestMode = Mode.standardModes().get(0);
+        for (Mode mode : Mode.standardModes()) {
+            if (getExpectedPoints(mode) > getExpectedPoints(bestMode)) bestMode = mode;
+        }
+        return isShiftPossible && getExpectedShiftPoints() > getExpectedPoints(bestMode) ? Mode.shift() : bestMode;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%d samples", numberOfSamples));
+        for (Mode mode : Mode.standardModes()) {
+            builder.append(String.format(Locale.ROOT, ", %s: %.1f", mode, getExpectedPoints(mode)));
+        }
+        return builder.append(String.format(Locale.ROOT, ", %s: %.1f", Mode.shift(), getExpectedShiftPoints())).toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import com.zuehlke.jasschallenge.game.search.AlphaBetaSolver;
+import com.zuehlke.jasschallenge.game.search.DealSampler;
+import com.zuehlke.jasschallenge.game.search.GameState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Estimates the points a hand makes in every standard mode by dealing the other cards at random and playing the
+ * game out. In a playout every player sees all hands and plays the card which is best for the current round, all
+ * modes are played on the same deals. The player choosing the trumpf plays the first card, also after shifting.
+ * <br><br>
+ * Shifting is valued with the mode the partner would choose on the dealt hand, using a {@link FloJassStrategy}.
+ * Deals are played in parallel until the deadline, every worker plays at least one deal.
+ */
+public class TrumpfEvaluator {
+
+    private static final List<Mode> MODES = Mode.standardModes();
+    private static final int PARTNER_SEAT = 2;
+
+    private final int parallelism;
+    private final JassStrategy partnerStrategy = new FloJassStrategy();
+
+    public TrumpfEvaluator(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public TrumpfEvaluation evaluate(Set<Card> availableCards, long deadlineNanos, SplittableRandom random) {
+        final long hand = CardSet.maskOf(availableCards);
+        if (CardSet.size(hand) != GameState.NUMBER_OF_ROUNDS) {
+            throw new RuntimeException("A trumpf can only be evaluated for a hand of " + GameState.NUMBER_OF_ROUNDS + " cards");
+        }
+
+        final SplittableRandom[] randoms = new SplittableRandom[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            randoms[i] = random.split();
+        }
+        final long[] points = Arrays.stream(randoms).parallel()
+                .map(workerRandom -> playDeals(hand, deadlineNanos, workerRandom))
+                .reduce(new long[Mode.NUMBER_OF_MODES + 1], TrumpfEvaluator::addPoints);
+
+        return new TrumpfEvaluation(Arrays.copyOf(points, Mode.NUMBER_OF_MODES), points[Mode.shift().getOrdinal()], points[Mode.NUMBER_OF_MODES]);
+    }
+
+    /**
+     * @return the points per mode ordinal (shift at its ordinal) and the number of deals in the last element
+     */
+    private long[] playDeals(long hand, long deadlineNanos, SplittableRandom random) {
+        final AlphaBetaSolver solver = new AlphaBetaSolver();
+        final long[] points = new long[Mode.NUMBER_OF_MODES + 1];
+        final int[] handSizes = {0, GameState.NUMBER_OF_ROUNDS, GameState.NUMBER_OF_ROUNDS, GameState.NUMBER_OF_ROUNDS};
+        final long[] noForbiddenCards = new long[GameState.NUMBER_OF_PLAYERS];
+        final int[] pointsPerMode = new int[Mode.NUMBER_OF_MODES];
+        do {
+            final long[] hands = {hand, 0L, 0L, 0L};
+            DealSampler.sample(CardSet.ALL_CARDS_MASK & ~hand, handSizes, noForbiddenCards, hands, random);
+
+            for (Mode mode : MODES) {
+                pointsPerMode[mode.getOrdinal()] = playOut(new GameState(mode, hands, 0), solver);
+                points[mode.getOrdinal()] += pointsPerMode[mode.getOrdinal()];
+            }
+            final Mode partnerMode = partnerStrategy.chooseTrumpf(CardSet.of(hands[PARTNER_SEAT]).toSet(), null, true);
+            points[Mode.shift().getOrdinal()] += pointsPerMode[partnerMode.getOrdinal()];
+            points[Mode.NUMBER_OF_MODES]++;
+        } while (System.nanoTime() < deadlineNanos);
+        return points;
+    }
+
+    /**
+     * @return the points of team 0
+     */
+    private static int playOut(GameState state, AlphaBetaSolver solver) {
+        while (!state.isFinished()) {
+            final long moves = state.distinctLegalMoves();
+            int bestMove = Long.numberOfTrailingZeros(moves);
+            if (CardSet.size(moves) > 1) {
+                int bestValue = Integer.MIN_VALUE;
+                for (long remaining = moves; remaining != 0L; remaining &= remaining - 1) {
+                    final int card = Long.numberOfTrailingZeros(remaining);
+                    final int value = solver.solveMove(state, card, 1);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        bestMove = card;
+                    }
+                }
+            }
+            state.makeMove(bestMove);
+        }
+        return state.getTeamScore(0);
+    }
+
+    private static long[] addPoints(long[] a, long[] b) {
+        final long[] sum = new long[a.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,151 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Precomputed trumpf choices for canonical hands (see {@link ColorPermutation#canonical(long)}), read from a file
+ * written by a {@link TrumpfTableGenerator}. The file is memory mapped, so opening it is fast and only the pages which
+ * are looked up are ever read.
+ * <br><br>
+ * The file starts with a header of two ints, the {@link #MAGIC} number and the number of entry bits. It is followed
+ * by a hash table of {@code 2^bits} longs with linear probing. An entry holds the canonical hand in the lowest 36
+ * bits, then the ordinal of the best mode (possibly shift) and of the best standard mode in 4 bits each, and the
+ * expected points of the best mode in the highest 16 bits. Empty entries are 0.
+ */
+public class TrumpfTable {
+
+    static final int MAGIC = 0x4A545431;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_SIZE_BITS = 28;
+
+    private static final int BEST_MODE_SHIFT = 36;
+    private static final int BEST_STANDARD_MODE_SHIFT = 40;
+    private static final int POINTS_SHIFT = 48;
+    private static final long MODE_MASK = 0xF;
+
+    private final LongBuffer entries;
+    private final int mask;
+
+    private TrumpfTable(LongBuffer entries) {
+        this.entries = entries;
+        this.mask = entries.capacity() - 1;
+    }
+
+    public static TrumpfTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) throw new RuntimeException(file + " is not a trumpf table");
+
+            final int sizeBits = header.getInt();
+            if (sizeBits < 1 || sizeBits > MAX_SIZE_BITS || channel.size() != HEADER_SIZE + ((long) Long.BYTES << sizeBits)) {
+                throw new RuntimeException(file + " is not a complete trumpf table");
+            }
+            return new TrumpfTable(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) Long.BYTES << sizeBits)
+                    .order(ByteOrder.BIG_ENDIAN)
+                    .asLongBuffer());
+        }
+    }
+
+    /**
+     * Writes a table of the given entries, see {@link #createEntry(long, Mode, Mode, int)}.
+     */
+    static void write(Path file, long[] entries) throws IOException {
+        final int sizeBits = calculateSizeBits(entries.length);
+        final long[] table = new long[1 << sizeBits];
+        for (long entry : entries) {
+            int index = hash(entry & CardSet.ALL_CARDS_MASK) & (table.length - 1);
+            while (table[index] != 0L) {
+                index = (index + 1) & (table.length - 1);
+            }
+            table[index] = entry;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.BIG_ENDIAN);
+            buffer.putInt(MAGIC).putInt(sizeBits);
+            for (long entry : table) {
+                if (!buffer.hasRemaining()) {
+                    writeBuffer(channel, buffer);
+                }
+                buffer.putLong(entry);
+            }
+            writeBuffer(channel, buffer);
+        }
+    }
+
+    /**
+     * @param points expected points of the best mode, between 0 and 65535
+     */
+    static long createEntry(long canonicalHand, Mode bestMode, Mode bestStandardMode, int points) {
+        return canonicalHand
+                | (long) bestMode.getOrdinal() << BEST_MODE_SHIFT
+                | (long) bestStandardMode.getOrdinal() << BEST_STANDARD_MODE_SHIFT
+                | (long) Math.max(0, Math.min(0xFFFF, points)) << POINTS_SHIFT;
+    }
+
+    /**
+     * @return the best mode for the hand, or {@code null} if the hand is not in the table
+     */
+    public Mode chooseTrumpf(long hand, boolean isShiftPossible) {
+        final ColorPermutation permutation = ColorPermutation.canonical(hand);
+        final long entry = find(permutation.apply(hand));
+        if (entry == 0L) return null;
+
+        final long ordinal = (entry >>> (isShiftPossible ? BEST_MODE_SHIFT : BEST_STANDARD_MODE_SHIFT)) & MODE_MASK;
+        return Mode.fromOrdinal((int) ordinal).permuteColors(permutation.inverse());
+    }
+
+    /**
+     * @return the expected points of the best mode for the hand, or -1 if the hand is not in the table
+     */
+    public int getExpectedPoints(long hand) {
+        final long entry = find(ColorPermutation.canonical(hand).apply(hand));
+        return entry == 0L ? -1 : (int) (entry >>> POINTS_SHIFT);
+    }
+
+    private long find(long canonicalHand) {
+        int index = hash(canonicalHand) & mask;
+        for (long entry = entries.get(index); entry != 0L; entry = entries.get(index)) {
+            if ((entry & CardSet.ALL_CARDS_MASK) == canonicalHand) return entry;
+
+            index = (index + 1) & mask;
+        }
+        return 0L;
+    }
+
+    private static int calculateSizeBits(int numberOfEntries) {
+        int sizeBits = 1;
+        while (1L << sizeBits < 2L * numberOfEntries) {
+            sizeBits++;
+        }
+        if (sizeBits > MAX_SIZE_BITS) throw new RuntimeException("Too many entries for a trumpf table: " + numberOfEntries);
+
+        return sizeBits;
+    }
+
+    private static int hash(long hand) {
+        long h = (hand ^ (hand >>> 31)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 31));
+    }
+
+    private static void writeBuffer(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,189 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardCombinations;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import com.zuehlke.jasschallenge.game.search.GameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a {@link TrumpfTable} offline: goes through all hands of nine cards in colex order, see
+ * {@link CardCombinations}, and evaluates the hands in canonical form (hands which only differ by swapped colors are
+ * evaluated once) with a {@link TrumpfEvaluator}.
+ * <br><br>
+ * Every few thousand hands the new entries and the rank of the next hand are appended to a checkpoint file next to
+ * the table, so a generation which was stopped continues from there. The checkpoint is deleted when the table is
+ * written.
+ */
+public class TrumpfTableGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrumpfTableGenerator.class);
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final int CHECKPOINT_MAGIC = 0x4A545443;
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+    private static final long NUMBER_OF_HANDS = CardCombinations.binomial(Card.values().length, GameState.NUMBER_OF_ROUNDS);
+
+    private final TrumpfEvaluator evaluator;
+    private final long timeBudgetNanos;
+    private final SplittableRandom random;
+    private final int checkpointInterval;
+
+    public TrumpfTableGenerator(TrumpfEvaluator evaluator, long timeBudgetMillisPerHand, SplittableRandom random) {
+        this(evaluator, timeBudgetMillisPerHand, random, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    TrumpfTableGenerator(TrumpfEvaluator evaluator, long timeBudgetMillisPerHand, SplittableRandom random, int checkpointInterval) {
+        this.evaluator = evaluator;
+        this.timeBudgetNanos = timeBudgetMillisPerHand * 1_000_000;
+        this.random = random;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * @param maxHands stops after this many hands, the other hands are then missing from the table
+     */
+    public void generate(Path file, long maxHands) throws IOException {
+        final Path checkpointFile = file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+        final boolean hasCheckpoint = Files.exists(checkpointFile) && Files.size(checkpointFile) > 0;
+        final Progress progress = hasCheckpoint ? readCheckpoint(checkpointFile) : new Progress(0);
+        if (progress.numberOfEntries > 0) {
+            logger.info("Continuing after {} hands from {}", progress.numberOfEntries, checkpointFile);
+        }
+
+        evaluateHands(progress, maxHands, checkpointFile);
+        TrumpfTable.write(file, progress.getEntries());
+        Files.deleteIfExists(checkpointFile);
+    }
+
+    /**
+     * Walks the hands from the next rank of the progress on, only the first hand is unranked.
+     */
+    void evaluateHands(Progress progress, long maxHands, Path checkpointFile) throws IOException {
+        if (progress.nextRank >= NUMBER_OF_HANDS) return;
+
+        long hand = CardCombinations.unrank(progress.nextRank, GameState.NUMBER_OF_ROUNDS);
+        for (; progress.nextRank < NUMBER_OF_HANDS && progress.numberOfEntries < maxHands; hand = CardCombinations.next(hand)) {
+            progress.nextRank++;
+            if (!isCanonical(hand)) continue;
+
+            final TrumpfEvaluation evaluation = evaluator.evaluate(CardSet.of(hand).toSet(), System.nanoTime() + timeBudgetNanos, random);
+            final Mode bestMode = evaluation.getBestMode(true);
+            progress.add(TrumpfTable.createEntry(hand, bestMode, evaluation.getBestMode(false),
+                    (int) Math.round(evaluation.getExpectedPoints(bestMode))));
+
+            if (progress.numberOfEntries % checkpointInterval == 0) {
+                writeCheckpoint(checkpointFile, progress);
+                logger.info("Evaluated {} hands", progress.numberOfEntries);
+            }
+        }
+    }
+
+    static boolean isCanonical(long hand) {
+        return ColorPermutation.canonical(hand).apply(hand) == hand;
+    }
+
+    /**
+     * Appends a block with the entries which were added since the last checkpoint and the rank of the next hand, so
+     * every entry is written once.
+     */
+    static void writeCheckpoint(Path file, Progress progress) throws IOException {
+        final boolean isNewFile = !Files.exists(file) || Files.size(file) == 0;
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            if (isNewFile) {
+                output.writeInt(CHECKPOINT_MAGIC);
+            }
+            output.writeLong(progress.nextRank);
+            output.writeInt(progress.numberOfEntries - progress.numberOfSavedEntries);
+            for (int i = progress.numberOfSavedEntries; i < progress.numberOfEntries; i++) {
+                output.writeLong(progress.entries[i]);
+            }
+        }
+        progress.numberOfSavedEntries = progress.numberOfEntries;
+    }
+
+    /**
+     * Reads all blocks of the checkpoint. An incomplete last block, which is left when the generation was stopped
+     * while writing it, is cut off the file, so the next block is appended after the last complete one.
+     */
+    static Progress readCheckpoint(Path file) throws IOException {
+        final Progress progress = new Progress(0);
+        long completeLength = Integer.BYTES;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != CHECKPOINT_MAGIC) throw new RuntimeException(file + " is not a trumpf table checkpoint");
+
+            while (true) {
+                final long nextRank;
+                final long[] entries;
+                try {
+                    nextRank = input.readLong();
+                    entries = new long[input.readInt()];
+                    for (int i = 0; i < entries.length; i++) {
+                        entries[i] = input.readLong();
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                progress.nextRank = nextRank;
+                for (long entry : entries) {
+                    progress.add(entry);
+                }
+                completeLength += Long.BYTES + Integer.BYTES + (long) entries.length * Long.BYTES;
+            }
+        }
+        progress.numberOfSavedEntries = progress.numberOfEntries;
+
+        if (completeLength < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(completeLength);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * The entries evaluated so far and the colex rank of the next hand to look at.
+     */
+    static final class Progress {
+        private long nextRank;
+        private long[] entries = new long[1024];
+        private int numberOfEntries;
+        private int numberOfSavedEntries;
+
+        Progress(long nextRank) {
+            this.nextRank = nextRank;
+        }
+
+        long getNextRank() {
+            return nextRank;
+        }
+
+        long[] getEntries() {
+            return Arrays.copyOf(entries, numberOfEntries);
+        }
+
+        void add(long entry) {
+            if (numberOfEntries == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[numberOfEntries++] = entry;
+        }
+    }
+}
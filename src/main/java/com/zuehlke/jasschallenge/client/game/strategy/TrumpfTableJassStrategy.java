@@ -0,0 +1,66 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.Set;
+
+/**
+ * Chooses the trumpf with a lookup in a precomputed {@link TrumpfTable} and leaves everything else to another
+ * strategy, which also chooses the trumpf for hands missing in the table.
+ */
+public class TrumpfTableJassStrategy implements JassStrategy {
+
+    private final TrumpfTable table;
+    private final JassStrategy strategy;
+
+    public TrumpfTableJassStrategy(TrumpfTable table, JassStrategy strategy) {
+        this.table = table;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
+        final Mode mode = table.chooseTrumpf(CardSet.maskOf(availableCards), !isGschobe);
+        return mode != null ? mode : strategy.chooseTrumpf(availableCards, session, isGschobe);
+    }
+
+    @Override
+    public Card chooseCard(Set<Card> availableCards, GameSession session) {
+        return strategy.chooseCard(availableCards, session);
+    }
+
+    @Override
+    public void onSessionStarted(GameSession session) {
+        strategy.onSessionStarted(session);
+    }
+
+    @Override
+    public void onGameStarted(GameSession session) {
+        strategy.onGameStarted(session);
+    }
+
+    @Override
+    public void onMoveMade(Move move, GameSession session) {
+        strategy.onMoveMade(move, session);
+    }
+
+    @Override
+    public void ponder(Set<Card> availableCards, Player player, GameSession session) {
+        strategy.ponder(availableCards, player, session);
+    }
+
+    @Override
+    public void onGameFinished() {
+        strategy.onGameFinished();
+    }
+
+    @Override
+    public void onSessionFinished() {
+        strategy.onSessionFinished();
+    }
+}
@@ -93,6 +93,7 @@ public class GameHandler {
 
         if (trumpfChoice.getMode() != Trumpf.SCHIEBE) {
             logger.info("Game started: {}", nextGameMode);
+            localPlayer.awaitLateDecision();
             gameSession.startNewGame(nextGameMode, shifted);
             localPlayer.onGameStarted(gameSession);
             shifted = false;
@@ -118,14 +119,17 @@ public class GameHandler {
         final Player player = getCurrentRound().getPlayingOrder().getCurrentPlayer();
 
         final Move move = new Move(player, Mapping.mapToCard(remoteCard));
+        localPlayer.awaitLateDecision();
         gameSession.makeMove(move);
         localPlayer.onMoveMade(move, gameSession);
+        localPlayer.ponder(gameSession);
     }
 
     public void onBroadCastStich(Stich stich) {
         final Player winner = playerMapper.findPlayerById(stich.getId());
         checkEquals(winner, getCurrentRound().getWinner(), "Local winner differs from remote");
 
+        localPlayer.awaitLateDecision();
         gameSession.startNextRound();
 
         checkEquals(stich.getTeams().get(0).getCurrentRoundPoints(),
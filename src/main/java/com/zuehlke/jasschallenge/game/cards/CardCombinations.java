@@ -0,0 +1,105 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+/**
+ * Numbers the sets of {@code k} cards in colex order: sets are compared by their highest card, then by their second
+ * highest and so on, so the rank of a set is the sum of {@code binomial(ordinal, i)} over its cards in ascending
+ * order, {@code i} counting from 1. Ranks run from 0 to {@code binomial(n, k) - 1} and can index dense tables.
+ * <br><br>
+ * The same works within a restricted set of cards (e.g. the cards which are still unknown), the cards are then
+ * numbered by their position within that set. All methods work on masks like {@link CardSet} and do not allocate.
+ */
+public final class CardCombinations {
+
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+    private static final long[][] BINOMIALS = createBinomialTable();
+
+    private CardCombinations() {
+    }
+
+    /**
+     * @return the number of sets of k out of n cards, 0 if k is larger than n
+     */
+    public static long binomial(int n, int k) {
+        return BINOMIALS[n][k];
+    }
+
+    public static long rank(long cards) {
+        long rank = 0;
+        int i = 1;
+        for (long remaining = cards; remaining != 0L; remaining &= remaining - 1) {
+            rank += BINOMIALS[Long.numberOfTrailingZeros(remaining)][i++];
+        }
+        return rank;
+    }
+
+    /**
+     * @return the rank of the cards among the sets of the same size taken from {@code availableCards}
+     */
+    public static long rank(long cards, long availableCards) {
+        if ((cards & ~availableCards) != 0L) throw new RuntimeException("Cards to rank must be part of the available cards");
+
+        long rank = 0;
+        int i = 1;
+        for (long remaining = cards; remaining != 0L; remaining &= remaining - 1) {
+            final long lowerCards = availableCards & (Long.lowestOneBit(remaining) - 1);
+            rank += BINOMIALS[Long.bitCount(lowerCards)][i++];
+        }
+        return rank;
+    }
+
+    /**
+     * @return the set of {@code numberOfCards} cards with the given rank
+     */
+    public static long unrank(long rank, int numberOfCards) {
+        return unrank(rank, numberOfCards, CardSet.ALL_CARDS_MASK);
+    }
+
+    /**
+     * @return the set of {@code numberOfCards} cards taken from {@code availableCards} with the given rank
+     */
+    public static long unrank(long rank, int numberOfCards, long availableCards) {
+        final int n = Long.bitCount(availableCards);
+        if (rank < 0 || rank >= BINOMIALS[n][numberOfCards]) {
+            throw new RuntimeException("There is no set of " + numberOfCards + " out of " + n + " cards with rank " + rank);
+        }
+
+        long cards = 0L;
+        long remainingRank = rank;
+        int position = n - 1;
+        long candidates = availableCards;
+        for (int i = numberOfCards; i > 0; i--) {
+            while (BINOMIALS[position][i] > remainingRank) {
+                position--;
+            }
+            remainingRank -= BINOMIALS[position][i];
+            while (Long.bitCount(candidates) > position + 1) {
+                candidates ^= Long.highestOneBit(candidates);
+            }
+            cards |= Long.highestOneBit(candidates);
+            candidates ^= Long.highestOneBit(candidates);
+            position--;
+        }
+        return cards;
+    }
+
+    /**
+     * @return the set with the next higher rank among the sets of the same size, a mask beyond
+     * {@link CardSet#ALL_CARDS_MASK} after the last set
+     */
+    public static long next(long cards) {
+        final long lowestCard = cards & -cards;
+        final long carry = cards + lowestCard;
+        return carry | (((cards ^ carry) >>> 2) / lowestCard);
+    }
+
+    private static long[][] createBinomialTable() {
+        final long[][] binomials = new long[NUMBER_OF_CARDS + 1][NUMBER_OF_CARDS + 1];
+        for (int n = 0; n <= NUMBER_OF_CARDS; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+            }
+        }
+        return binomials;
+    }
+}
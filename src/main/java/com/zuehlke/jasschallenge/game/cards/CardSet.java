@@ -0,0 +1,196 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable set of cards backed by a single {@code long}. Bit {@code n} is set when the card with
+ * {@link Card#ordinal()} {@code n} is part of the set.
+ * <br><br>
+ * The static helpers work on the raw masks and never allocate, so hot paths (rules, search) can stay on
+ * plain {@code long}s and only wrap them when handing them to an API.
+ */
+public final class CardSet implements Iterable<Card> {
+
+    public static final int CARDS_PER_COLOR = 9;
+    public static final long ALL_CARDS_MASK = (1L << 36) - 1;
+
+    public static final CardSet EMPTY = new CardSet(0L);
+    public static final CardSet ALL = new CardSet(ALL_CARDS_MASK);
+
+    private static final Card[] CARDS = Card.values();
+    private static final long COLOR_MASK = (1L << CARDS_PER_COLOR) - 1;
+
+    private final long mask;
+
+    private CardSet(long mask) {
+        this.mask = mask;
+    }
+
+    public static CardSet of(long mask) {
+        if (mask == 0L) return EMPTY;
+        if ((mask & ~ALL_CARDS_MASK) != 0) throw new IllegalArgumentException("Not a valid card mask: " + Long.toHexString(mask));
+
+        return new CardSet(mask);
+    }
+
+    public static CardSet of(Card... cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= mask(card);
+        }
+        return of(mask);
+    }
+
+    public static CardSet from(Collection<Card> cards) {
+        return of(maskOf(cards));
+    }
+
+    public static long mask(Card card) {
+        return 1L << card.ordinal();
+    }
+
+    public static long mask(Color color, CardValue value) {
+        return 1L << index(color, value);
+    }
+
+    public static long maskOf(Collection<Card> cards) {
+        long mask = 0L;
+        for (Card card : cards) {
+            mask |= mask(card);
+        }
+        return mask;
+    }
+
+    public static long colorMask(Color color) {
+        return COLOR_MASK << (color.ordinal() * CARDS_PER_COLOR);
+    }
+
+    public static int index(Color color, CardValue value) {
+        return color.ordinal() * CARDS_PER_COLOR + value.ordinal();
+    }
+
+    public static Card card(int index) {
+        return CARDS[index];
+    }
+
+    public static Card card(Color color, CardValue value) {
+        return CARDS[index(color, value)];
+    }
+
+    public static int size(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static boolean contains(long mask, Card card) {
+        return (mask & mask(card)) != 0;
+    }
+
+    /**
+     * @return the card with the lowest ordinal in the mask. Use together with {@link #removeFirst(long)}
+     * to iterate a mask without allocating.
+     */
+    public static Card first(long mask) {
+        if (mask == 0L) throw new NoSuchElementException("Card mask is empty");
+
+        return CARDS[Long.numberOfTrailingZeros(mask)];
+    }
+
+    public static long removeFirst(long mask) {
+        return mask & (mask - 1);
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public int size() {
+        return size(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0L;
+    }
+
+    public boolean contains(Card card) {
+        return contains(mask, card);
+    }
+
+    public boolean hasColor(Color color) {
+        return (mask & colorMask(color)) != 0;
+    }
+
+    public CardSet ofColor(Color color) {
+        return of(mask & colorMask(color));
+    }
+
+    public CardSet with(Card card) {
+        return of(mask | mask(card));
+    }
+
+    public CardSet without(Card card) {
+        return of(mask & ~mask(card));
+    }
+
+    public CardSet union(CardSet other) {
+        return of(mask | other.mask);
+    }
+
+    public CardSet intersection(CardSet other) {
+        return of(mask & other.mask);
+    }
+
+    public CardSet minus(CardSet other) {
+        return of(mask & ~other.mask);
+    }
+
+    public Set<Card> toSet() {
+        final Set<Card> cards = EnumSet.noneOf(Card.class);
+        for (long remaining = mask; remaining != 0; remaining = removeFirst(remaining)) {
+            cards.add(first(remaining));
+        }
+        return cards;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                final Card card = first(remaining);
+                remaining = removeFirst(remaining);
+                return card;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CardSet cardSet = (CardSet) o;
+
+        return mask == cardSet.mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
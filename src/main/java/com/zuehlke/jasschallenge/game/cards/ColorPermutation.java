@@ -0,0 +1,125 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+import java.util.Arrays;
+
+/**
+ * Immutable mapping of every color to a color, used to bring hands into a canonical form. Colors which play the same
+ * role in a mode (all four in top down and bottom up, the three other colors in a trumpf mode) can be swapped without
+ * changing the game, so caches keyed by the canonical form find a hand under all its color permutations.
+ * <br><br>
+ * Results which were computed for the canonical form, like the best card or trumpf color, are mapped back to the
+ * original colors with the {@link #inverse()}.
+ */
+public final class ColorPermutation {
+
+    private static final Color[] COLORS = Color.values();
+    private static final long COLOR_CARDS = (1L << CardSet.CARDS_PER_COLOR) - 1;
+    private static final ColorPermutation IDENTITY = new ColorPermutation(new int[]{0, 1, 2, 3});
+
+    private final int[] targets;
+
+    private ColorPermutation(int[] targets) {
+        this.targets = targets;
+    }
+
+    public static ColorPermutation identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * @return the permutation bringing the cards into canonical form, all colors may be swapped
+     */
+    public static ColorPermutation canonical(long cards) {
+        return canonical(cards, 0L, null);
+    }
+
+    /**
+     * Orders the colors by the cards they have in {@code cards} and then in {@code playedCards}; cards which are
+     * permutations of each other under the free colors get the same canonical form.
+     *
+     * @param fixedColor a color which must not be swapped (the trumpf color), or {@code null}
+     */
+    public static ColorPermutation canonical(long cards, long playedCards, Color fixedColor) {
+        final int fixed = fixedColor == null ? -1 : fixedColor.ordinal();
+        final long[] keys = new long[COLORS.length];
+        final int[] freeColors = new int[COLORS.length];
+        int numberOfFreeColors = 0;
+        for (int color = 0; color < COLORS.length; color++) {
+            if (color == fixed) continue;
+
+            keys[color] = colorCards(cards, color) << CardSet.CARDS_PER_COLOR | colorCards(playedCards, color);
+            freeColors[numberOfFreeColors++] = color;
+        }
+
+        final int[] targets = {0, 1, 2, 3};
+        final int[] sortedColors = Arrays.copyOf(freeColors, numberOfFreeColors);
+        for (int i = 1; i < sortedColors.length; i++) {
+            final int color = sortedColors[i];
+            int j = i;
+            while (j > 0 && keys[sortedColors[j - 1]] < keys[color]) {
+                sortedColors[j] = sortedColors[j - 1];
+                j--;
+            }
+            sortedColors[j] = color;
+        }
+        for (int i = 0; i < sortedColors.length; i++) {
+            targets[sortedColors[i]] = freeColors[i];
+        }
+        return new ColorPermutation(targets);
+    }
+
+    public Color apply(Color color) {
+        return COLORS[targets[color.ordinal()]];
+    }
+
+    public Card apply(Card card) {
+        return CardSet.card(apply(card.getColor()), card.getValue());
+    }
+
+    public long apply(long cards) {
+        long permutedCards = 0L;
+        for (int color = 0; color < COLORS.length; color++) {
+            permutedCards |= colorCards(cards, color) << targets[color] * CardSet.CARDS_PER_COLOR;
+        }
+        return permutedCards;
+    }
+
+    public ColorPermutation inverse() {
+        final int[] inverseTargets = new int[COLORS.length];
+        for (int color = 0; color < COLORS.length; color++) {
+            inverseTargets[targets[color]] = color;
+        }
+        return new ColorPermutation(inverseTargets);
+    }
+
+    public boolean isIdentity() {
+        return Arrays.equals(targets, IDENTITY.targets);
+    }
+
+    private static long colorCards(long cards, int color) {
+        return cards >>> color * CardSet.CARDS_PER_COLOR & COLOR_CARDS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return Arrays.equals(targets, ((ColorPermutation) o).targets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(targets);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        for (Color color : COLORS) {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(color).append("->").append(apply(color));
+        }
+        return builder.append('}').toString();
+    }
+}
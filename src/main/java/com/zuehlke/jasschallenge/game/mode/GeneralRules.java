@@ -1,13 +1,13 @@
 package com.zuehlke.jasschallenge.game.mode;
 
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
 
 class GeneralRules {
 
@@ -17,27 +17,64 @@ class GeneralRules {
         return factor * LAST_ROUND_BONUS;
     }
 
-    public static boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards) {
-        return alreadyPlayedCards.isEmpty()
+    public static boolean canPlayCard(Card card, long alreadyPlayedCards, Color currentRoundColor, long playerCards) {
+        return alreadyPlayedCards == 0L
                 || card.getColor() == currentRoundColor
-                || playerCards.stream().noneMatch(playersCard -> playersCard.getColor() == currentRoundColor);
+                || (playerCards & CardSet.colorMask(currentRoundColor)) == 0L;
     }
 
+    public static long legalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor) {
+        if (alreadyPlayedCards == 0L) return playerCards;
 
-    public static Optional<Card> determineWinnerCard(List<Card> cards, Comparator<Card> cardRankComparator, Optional<Color> trumpfColor) {
-        if (cards == null || cards.isEmpty()) {
-            return Optional.empty();
-        }
-        final Color firstCardColor = cards.get(0).getColor();
-        return cards.stream()
-                .filter(allCardsWithColorOrTrumpfColor(firstCardColor, trumpfColor))
-                .max(cardRankComparator);
+        final long cardsOfRoundColor = playerCards & CardSet.colorMask(currentRoundColor);
+        return cardsOfRoundColor != 0L ? cardsOfRoundColor : playerCards;
     }
 
+    public static int[] createScoreTable(int factor, ToIntFunction<Card> cardScore) {
+        final Card[] cards = Card.values();
+        final int[] scores = new int[cards.length];
+        for (Card card : cards) {
+            scores[card.ordinal()] = factor * cardScore.applyAsInt(card);
+        }
+        return scores;
+    }
 
+    /**
+     * Builds a lookup table with the strength of every card for every possible color of the first card in
+     * a round. The card with the highest strength wins the round, cards which cannot win must have strength 0.
+     */
+    public static int[] createStrengthTable(ToIntBiFunction<Card, Color> cardStrength) {
+        final Card[] cards = Card.values();
+        final Color[] colors = Color.values();
+        final int[] strengths = new int[colors.length * cards.length];
+        for (Color roundColor : colors) {
+            for (Card card : cards) {
+                strengths[roundColor.ordinal() * cards.length + card.ordinal()] = cardStrength.applyAsInt(card, roundColor);
+            }
+        }
+        return strengths;
+    }
 
-    private static Predicate<Card> allCardsWithColorOrTrumpfColor(Color firstCardColor, Optional<Color> trumpfColor) {
-        return card -> card.getColor() == trumpfColor.orElse(firstCardColor) || card.getColor() == firstCardColor;
+    /**
+     * Orders the cards of every color from the strongest to the weakest, for a round started with that color.
+     *
+     * @return the card ordinals by color, or {@code null} if the strengths do not order the cards of a color
+     */
+    public static int[][] createRankTable(int[] cardStrengths) {
+        final Card[] cards = Card.values();
+        final Color[] colors = Color.values();
+        final int[][] rankedCards = new int[colors.length][];
+        for (Color color : colors) {
+            final int offset = color.ordinal() * cards.length;
+            rankedCards[color.ordinal()] = Arrays.stream(cards)
+                    .filter(card -> card.getColor() == color)
+                    .sorted(Comparator.comparingInt((Card card) -> cardStrengths[offset + card.ordinal()]).reversed())
+                    .mapToInt(Card::ordinal)
+                    .toArray();
+            final long distinctStrengths = Arrays.stream(rankedCards[color.ordinal()]).map(card -> cardStrengths[offset + card]).distinct().count();
+            if (distinctStrengths != CardSet.CARDS_PER_COLOR) return null;
+        }
+        return rankedCards;
     }
 
 }
@@ -1,19 +1,71 @@
 package com.zuehlke.jasschallenge.game.mode;
 
+import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.client.game.Move;
 import com.zuehlke.jasschallenge.game.Trumpf;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * The game modes are immutable flyweights: there is exactly one instance per mode, so modes can be compared
+ * by identity and addressed by their {@link #getOrdinal() ordinal}.
+ */
 public abstract class Mode {
 
-    public static Mode topDown() { return new TopDownMode(); }
-    public static Mode bottomUp() { return new BottomUpMode(); }
-    static Mode trump(Color color) { return new TrumpfColorMode(color); }
-    public static Mode shift() { return new ShiftMode(); }
+    public static final int NUMBER_OF_MODES = 7;
+
+    static final int TOP_DOWN_ORDINAL = 0;
+    static final int BOTTOM_UP_ORDINAL = 1;
+    static final int FIRST_TRUMPF_ORDINAL = 2;
+    static final int SHIFT_ORDINAL = 6;
+
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+
+    private static final Mode TOP_DOWN = new TopDownMode();
+    private static final Mode BOTTOM_UP = new BottomUpMode();
+    private static final Mode[] TRUMPF_MODES = Arrays.stream(Color.values()).map(TrumpfColorMode::new).toArray(Mode[]::new);
+    private static final Mode SHIFT = new ShiftMode();
+
+    private static final List<Mode> ALL_MODES = Collections.unmodifiableList(Arrays.asList(
+            TOP_DOWN, BOTTOM_UP,
+            TRUMPF_MODES[Color.HEARTS.ordinal()], TRUMPF_MODES[Color.DIAMONDS.ordinal()],
+            TRUMPF_MODES[Color.CLUBS.ordinal()], TRUMPF_MODES[Color.SPADES.ordinal()],
+            SHIFT));
+    private static final List<Mode> STANDARD_MODES = Collections.unmodifiableList(Arrays.asList(
+            TOP_DOWN, BOTTOM_UP,
+            TRUMPF_MODES[Color.CLUBS.ordinal()], TRUMPF_MODES[Color.DIAMONDS.ordinal()],
+            TRUMPF_MODES[Color.HEARTS.ordinal()], TRUMPF_MODES[Color.SPADES.ordinal()]));
+
+    private final int ordinal;
+    private final int[] cardStrengths;
+    private final int[] cardScores;
+    private final int lastRoundBonus;
+    private final int[][] rankedCards;
+
+    Mode(int ordinal, int[] cardStrengths, int[] cardScores, int lastRoundBonus) {
+        this.ordinal = ordinal;
+        this.cardStrengths = cardStrengths;
+        this.cardScores = cardScores;
+        this.lastRoundBonus = lastRoundBonus;
+        this.rankedCards = GeneralRules.createRankTable(cardStrengths);
+    }
+
+    public static Mode topDown() { return TOP_DOWN; }
+    public static Mode bottomUp() { return BOTTOM_UP; }
+    static Mode trump(Color color) {
+        if (color == null) throw new RuntimeException("A trumpf mode needs a trumpf color");
+
+        return TRUMPF_MODES[color.ordinal()];
+    }
+    public static Mode shift() { return SHIFT; }
+    public static Mode fromOrdinal(int ordinal) { return ALL_MODES.get(ordinal); }
     public static Mode from(Trumpf trumpf, Color trumpfColor) {
         switch (trumpf) {
             case UNDEUFE:
@@ -27,39 +79,168 @@ public abstract class Mode {
         }
     }
 
+    /**
+     * @return the six playable modes, as an unmodifiable list
+     */
     public static List<Mode> standardModes() {
-        List<Mode> modes = new LinkedList<>();
-        modes.add(topDown());
-        modes.add(bottomUp());
-        modes.add(trump(Color.CLUBS));
-        modes.add(trump(Color.DIAMONDS));
-        modes.add(trump(Color.HEARTS));
-        modes.add(trump(Color.SPADES));
-        return modes;
+        return STANDARD_MODES;
     }
 
-    public abstract int calculateRoundScore(int roundNumber, Set<Card> playedCards);
+    /**
+     * @return all modes including {@link #shift()}, as an unmodifiable list ordered by {@link #getOrdinal()}
+     */
+    public static List<Mode> allModes() {
+        return ALL_MODES;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public int calculateRoundScore(int roundNumber, Set<Card> playedCards) {
+        return calculateRoundScore(roundNumber, CardSet.maskOf(playedCards));
+    }
+
+    public int calculateRoundScore(int roundNumber, CardSet playedCards) {
+        return calculateRoundScore(roundNumber, playedCards.mask());
+    }
+
+    public int calculateRoundScore(int roundNumber, long playedCards) {
+        final int bonus = roundNumber == Game.LAST_ROUND_NUMBER ? lastRoundBonus : 0;
+        return bonus + calculateScore(playedCards);
+    }
 
     public abstract Trumpf getTrumpfName();
 
     public abstract Color getTrumpfColor();
 
-    public abstract int calculateScore(Set<Card> playedCards);
+    public int calculateScore(Set<Card> playedCards) {
+        return calculateScore(CardSet.maskOf(playedCards));
+    }
+
+    public int calculateScore(CardSet playedCards) {
+        return calculateScore(playedCards.mask());
+    }
 
+    /**
+     * Sums the scores of the given cards using the score table of this mode, the factor of the mode is
+     * already part of the table.
+     */
+    public int calculateScore(long playedCards) {
+        int score = 0;
+        for (long remaining = playedCards; remaining != 0L; remaining = CardSet.removeFirst(remaining)) {
+            score += cardScores[Long.numberOfTrailingZeros(remaining)];
+        }
+        return score;
+    }
+
+    public int getCardScore(Card card) {
+        return cardScores[card.ordinal()];
+    }
+
+
+    public int getCardStrength(Card card, Color roundColor) {
+        return cardStrengths[roundColor.ordinal() * NUMBER_OF_CARDS + card.ordinal()];
+    }
 
     public Card determineWinningCard(List<Card> cards) {
-        return GeneralRules.determineWinnerCard(cards, createRankComparator(), Optional.ofNullable(getTrumpfColor())).orElse(null);
+        if (cards == null || cards.isEmpty()) return null;
+
+        final Color roundColor = cards.get(0).getColor();
+        Card winningCard = null;
+        int highestStrength = -1;
+        for (int i = 0; i < cards.size(); i++) {
+            final int strength = getCardStrength(cards.get(i), roundColor);
+            if (strength > highestStrength) {
+                highestStrength = strength;
+                winningCard = cards.get(i);
+            }
+        }
+        return winningCard;
     }
 
     public Move determineWinningMove(List<Move> moves) {
-        List<Card> cards = moves.stream().map(Move::getPlayedCard).collect(Collectors.toList());
-        Card winningCard = determineWinningCard(cards);
-        return moves.stream().filter(move -> winningCard == move.getPlayedCard()).findFirst().orElse(null);
+        if (moves.isEmpty()) return null;
+
+        final Color roundColor = moves.get(0).getPlayedCard().getColor();
+        Move winningMove = null;
+        int highestStrength = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            final int strength = getCardStrength(moves.get(i).getPlayedCard(), roundColor);
+            if (strength > highestStrength) {
+                highestStrength = strength;
+                winningMove = moves.get(i);
+            }
+        }
+        return winningMove;
+    }
+
+    public boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards) {
+        return canPlayCard(card, CardSet.maskOf(alreadyPlayedCards), currentRoundColor, CardSet.maskOf(playerCards));
     }
 
-    public abstract boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards);
+    public boolean canPlayCard(Card card, CardSet alreadyPlayedCards, Color currentRoundColor, CardSet playerCards) {
+        return canPlayCard(card, alreadyPlayedCards.mask(), currentRoundColor, playerCards.mask());
+    }
 
-    public abstract int getFactor();
+    public abstract boolean canPlayCard(Card card, long alreadyPlayedCards, Color currentRoundColor, long playerCards);
 
-    protected abstract Comparator<Card> createRankComparator();
+    public CardSet legalMoves(CardSet playerCards, CardSet alreadyPlayedCards, Color currentRoundColor) {
+        return CardSet.of(legalMoves(playerCards.mask(), alreadyPlayedCards.mask(), currentRoundColor));
+    }
+
+    /**
+     * Calculates all cards of the hand which may be played in the current round at once. The result contains
+     * exactly the cards for which {@link #canPlayCard(Card, long, Color, long)} is true.
+     */
+    public abstract long legalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor);
+
+    /**
+     * Like {@link #legalMoves(long, long, Color)}, but keeps only one card of every group of equivalent cards. Two
+     * cards of the hand are equivalent if they have the same color and score and every card ranked between them is
+     * in the hand as well or was played in an earlier round, so playing either of them leads to the same result.
+     * Meant for searches, which only need to look at one card of every group.
+     *
+     * @param playedCards all cards played in the game so far, the cards of the current round may be included
+     */
+    public long distinctLegalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor, long playedCards) {
+        final long legalMoves = legalMoves(playerCards, alreadyPlayedCards, currentRoundColor);
+        if (rankedCards == null) return legalMoves;
+
+        final long wonCards = playedCards & ~alreadyPlayedCards;
+        long distinctMoves = legalMoves;
+        for (long colors = legalMoves; colors != 0L; colors &= ~CardSet.colorMask(CardSet.first(colors).getColor())) {
+            int groupScore = -1;
+            for (int cardIndex : rankedCards[CardSet.first(colors).getColor().ordinal()]) {
+                final long card = 1L << cardIndex;
+                if ((playerCards & card) != 0L) {
+                    if (cardScores[cardIndex] == groupScore) {
+                        distinctMoves &= ~card;
+                    } else {
+                        groupScore = cardScores[cardIndex];
+                    }
+                } else if ((wonCards & card) == 0L) {
+                    groupScore = -1;
+                }
+            }
+        }
+        return distinctMoves;
+    }
+
+    /**
+     * @return the permutation bringing the cards into canonical form, swapping only colors which are interchangeable
+     * in this mode: all colors, or all but the trumpf color
+     */
+    public ColorPermutation canonicalColors(long cards, long playedCards) {
+        return ColorPermutation.canonical(cards, playedCards, getTrumpfColor());
+    }
+
+    /**
+     * @return the mode with the trumpf color mapped by the permutation, modes without trumpf color stay the same
+     */
+    public Mode permuteColors(ColorPermutation permutation) {
+        return getTrumpfName() == Trumpf.TRUMPF ? trump(permutation.apply(getTrumpfColor())) : this;
+    }
+
+    public abstract int getFactor();
 }
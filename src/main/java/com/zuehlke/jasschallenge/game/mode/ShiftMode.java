@@ -5,15 +5,18 @@ import com.zuehlke.jasschallenge.game.cards.Card;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import com.zuehlke.jasschallenge.game.Trumpf;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
+
+import static java.lang.String.valueOf;
 
 public class ShiftMode extends Mode {
 
-    @Override
-    public int calculateRoundScore(int roundNumber, Set<Card> playedCards) {
-        return 0;
+    private static final int FACTOR = 0;
+    private static final int[] CARD_STRENGTHS = GeneralRules.createStrengthTable((card, roundColor) -> 0);
+    private static final int[] CARD_SCORES = GeneralRules.createScoreTable(FACTOR, card -> 0);
+
+    ShiftMode() {
+        super(SHIFT_ORDINAL, CARD_STRENGTHS, CARD_SCORES, GeneralRules.calculateLastRoundBonus(FACTOR));
     }
 
     @Override
@@ -27,8 +30,8 @@ public class ShiftMode extends Mode {
     }
 
     @Override
-    public int calculateScore(Set<Card> playedCards) {
-        return 0;
+    public Card determineWinningCard(List<Card> cards) {
+        return null;
     }
 
     @Override
@@ -37,17 +40,22 @@ public class ShiftMode extends Mode {
     }
 
     @Override
-    public boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards) {
+    public boolean canPlayCard(Card card, long alreadyPlayedCards, Color currentRoundColor, long playerCards) {
         return false;
     }
 
+    @Override
+    public long legalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor) {
+        return 0L;
+    }
+
     @Override
     public int getFactor() {
-        return 0;
+        return FACTOR;
     }
 
     @Override
-    public Comparator<Card> createRankComparator() {
-        return null;
+    public String toString() {
+        return valueOf(getTrumpfName());
     }
 }
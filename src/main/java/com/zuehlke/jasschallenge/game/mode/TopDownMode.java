@@ -1,17 +1,20 @@
 package com.zuehlke.jasschallenge.game.mode;
 
-import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.game.Trumpf;
 import com.zuehlke.jasschallenge.game.cards.Card;
 import com.zuehlke.jasschallenge.game.cards.Color;
 
-import java.util.Comparator;
-import java.util.Set;
-
 import static java.lang.String.valueOf;
 
 class TopDownMode extends Mode {
     private static final int FACTOR = 1;
+    private static final int[] CARD_STRENGTHS = GeneralRules.createStrengthTable(
+            (card, roundColor) -> card.getColor() == roundColor ? card.getValue().getRank() : 0);
+    private static final int[] CARD_SCORES = GeneralRules.createScoreTable(FACTOR, card -> card.getValue().getScore());
+
+    TopDownMode() {
+        super(TOP_DOWN_ORDINAL, CARD_STRENGTHS, CARD_SCORES, GeneralRules.calculateLastRoundBonus(FACTOR));
+    }
 
     @Override
     public Trumpf getTrumpfName() {
@@ -24,23 +27,13 @@ class TopDownMode extends Mode {
     }
 
     @Override
-    public int calculateRoundScore(int roundNumber, Set<Card> playedCards) {
-        if(roundNumber == Game.LAST_ROUND_NUMBER) {
-            return GeneralRules.calculateLastRoundBonus(FACTOR) + calculateScore(playedCards);
-        }
-        return calculateScore(playedCards);
-    }
-
-    @Override
-    public int calculateScore(Set<Card> playedCards) {
-        return FACTOR * playedCards.stream()
-                .mapToInt(card -> card.getValue().getScore())
-                .sum();
+    public boolean canPlayCard(Card card, long alreadyPlayedCards, Color currentRoundColor, long playerCards) {
+        return GeneralRules.canPlayCard(card, alreadyPlayedCards, currentRoundColor, playerCards);
     }
 
     @Override
-    public boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards) {
-        return GeneralRules.canPlayCard(card, alreadyPlayedCards, currentRoundColor, playerCards);
+    public long legalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor) {
+        return GeneralRules.legalMoves(playerCards, alreadyPlayedCards, currentRoundColor);
     }
 
     @Override
@@ -48,11 +41,6 @@ class TopDownMode extends Mode {
         return FACTOR;
     }
 
-    @Override
-    public Comparator<Card> createRankComparator() {
-        return (card, card2) -> card.isHigherThan(card2) ? 1 : -1;
-    }
-
     @Override
     public String toString() {
 
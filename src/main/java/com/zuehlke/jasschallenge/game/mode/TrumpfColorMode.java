@@ -1,24 +1,30 @@
 package com.zuehlke.jasschallenge.game.mode;
 
-import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.game.Trumpf;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.CardValue;
 import com.zuehlke.jasschallenge.game.cards.Color;
 
-import java.util.Comparator;
-import java.util.Optional;
-import java.util.Set;
-
 import static java.lang.String.valueOf;
 
 class TrumpfColorMode extends Mode {
 
+    private static final int FACTOR = 1;
+    private static final int TRUMPF_STRENGTH = CardValue.ACE.getRank() + 1;
+
     private final Color trumpfColor;
+    private final long trumpfCards;
+    private final long jackOfTrumpf;
+    private final long[] higherTrumpfs;
 
-    public TrumpfColorMode(Color trumpfColor) {
+    TrumpfColorMode(Color trumpfColor) {
+        super(FIRST_TRUMPF_ORDINAL + trumpfColor.ordinal(), createStrengthTable(trumpfColor), createScoreTable(trumpfColor), GeneralRules.calculateLastRoundBonus(FACTOR));
 
         this.trumpfColor = trumpfColor;
+        this.trumpfCards = CardSet.colorMask(trumpfColor);
+        this.jackOfTrumpf = CardSet.mask(trumpfColor, CardValue.JACK);
+        this.higherTrumpfs = createHigherTrumpfTable(trumpfColor);
     }
 
     @Override
@@ -32,49 +38,32 @@ class TrumpfColorMode extends Mode {
     }
 
     @Override
-    public int calculateRoundScore(int roundNumber, Set<Card> playedCards) {
-        if(roundNumber == Game.LAST_ROUND_NUMBER) {
-            return GeneralRules.calculateLastRoundBonus(getFactor()) + calculateScore(playedCards);
-        }
-        return calculateScore(playedCards);
-    }
-
-    @Override
-    public int calculateScore(Set<Card> playedCards) {
-        return getFactor() * playedCards.stream()
-                .mapToInt(card -> {
-                    if(card.getValue() == CardValue.EIGHT) return 0;
-                    if (isTrumpf(card)) {
-                        return card.getValue().getTrumpfScore();
-                    } else {
-                        return card.getValue().getScore();
-                    }
-                }).sum();
-    }
-
-
-    @Override
-    public boolean canPlayCard(Card card, Set<Card> alreadyPlayedCards, Color currentRoundColor, Set<Card> playerCards) {
-        final boolean noCardsHaveBeenPlayed = alreadyPlayedCards.isEmpty();
-        final boolean hasOtherCardsOfRoundColor = playerCards.stream().anyMatch(playersCard -> playersCard.getColor() == currentRoundColor);
-        final boolean isHighestTrumpfInRound = isTrumpf(card) && isHighestTrumpf(card, alreadyPlayedCards);
+    public boolean canPlayCard(Card card, long alreadyPlayedCards, Color currentRoundColor, long playerCards) {
+        final boolean noCardsHaveBeenPlayed = alreadyPlayedCards == 0L;
 
         if(noCardsHaveBeenPlayed) return true;
         if(hasOnlyTrumpf(playerCards)) return true;
-        if(isTrumpf(card) && currentRoundColor != trumpfColor) return isHighestTrumpfInRound;
+        if(isTrumpf(card) && currentRoundColor != trumpfColor) return isHighestTrumpf(card, alreadyPlayedCards);
         if(currentRoundColor == trumpfColor && hasOnlyJackOfTrumpf(playerCards)) return true;
-        else return !hasOtherCardsOfRoundColor || card.getColor() == currentRoundColor;
+        else return !hasCardsOfColor(playerCards, currentRoundColor) || card.getColor() == currentRoundColor;
     }
 
     @Override
-    public int getFactor() {
-        return 1;
+    public long legalMoves(long playerCards, long alreadyPlayedCards, Color currentRoundColor) {
+        if (alreadyPlayedCards == 0L || hasOnlyTrumpf(playerCards)) return playerCards;
+        if (currentRoundColor == trumpfColor) {
+            return hasOnlyJackOfTrumpf(playerCards) ? playerCards : playerCards & trumpfCards;
+        }
+
+        final long otherCards = playerCards & ~trumpfCards;
+        final long cardsOfRoundColor = otherCards & CardSet.colorMask(currentRoundColor);
+        final long allowedOtherCards = cardsOfRoundColor != 0L ? cardsOfRoundColor : otherCards;
+        return allowedOtherCards | (playerCards & trumpfsHigherThanPlayed(alreadyPlayedCards));
     }
 
     @Override
-    public Comparator<Card> createRankComparator() {
-        return this::compareWithTrumpf;
-
+    public int getFactor() {
+        return FACTOR;
     }
 
     @Override
@@ -82,50 +71,67 @@ class TrumpfColorMode extends Mode {
         return valueOf(getTrumpfName()) + " - " +  valueOf(getTrumpfColor());
     }
 
-    private boolean hasOnlyJackOfTrumpf(Set<Card> playerCards) {
-        return playerCards.stream()
-                .filter(cards -> cards.getColor() == trumpfColor)
-                .allMatch(card -> card.getValue() == CardValue.JACK);
+    private boolean hasOnlyJackOfTrumpf(long playerCards) {
+        return (playerCards & trumpfCards & ~jackOfTrumpf) == 0L;
     }
 
-    private boolean hasOnlyTrumpf(Set<Card> cards) {
-        return cards.stream().allMatch(card -> card.getColor() == trumpfColor);
+    private static boolean hasCardsOfColor(long cards, Color color) {
+        return (cards & CardSet.colorMask(color)) != 0L;
     }
 
-    private boolean isHighestTrumpf(Card card, Set<Card> alreadyPlayedCards) {
-        return highestTrumpf(alreadyPlayedCards)
-                .map(card::isHigherTrumpfThan)
-                .orElse(true);
+    private boolean hasOnlyTrumpf(long cards) {
+        return (cards & ~trumpfCards) == 0L;
     }
 
-    private Optional<Card> highestTrumpf(Set<Card> alreadyPlayedCards) {
-        return alreadyPlayedCards.stream()
-                .filter(card -> card.getColor() == trumpfColor)
-                .max(this::compareTrumpf);
-    }
-
-    private boolean isTrumpf(Card card) {
-        return card.getColor() == trumpfColor;
+    private boolean isHighestTrumpf(Card card, long alreadyPlayedCards) {
+        for (long playedTrumpfs = alreadyPlayedCards & trumpfCards; playedTrumpfs != 0L; playedTrumpfs = CardSet.removeFirst(playedTrumpfs)) {
+            if (!card.isHigherTrumpfThan(CardSet.first(playedTrumpfs))) return false;
+        }
+        return true;
     }
 
-    private int compareWithTrumpf(Card card1, Card card2) {
-        if (isTrumpf(card1) && isTrumpf(card2)) {
-            return compareTrumpf(card1, card2);
-        } else if (isTrumpf(card1)) {
-            return 1;
-        } else if (isTrumpf(card2)) {
-            return -1;
-        } else {
-            return compareMoves(card1, card2);
+    private long trumpfsHigherThanPlayed(long alreadyPlayedCards) {
+        long allowedTrumpfs = trumpfCards;
+        for (long playedTrumpfs = alreadyPlayedCards & trumpfCards; playedTrumpfs != 0L; playedTrumpfs = CardSet.removeFirst(playedTrumpfs)) {
+            allowedTrumpfs &= higherTrumpfs[Long.numberOfTrailingZeros(playedTrumpfs)];
         }
+        return allowedTrumpfs;
     }
 
-    private int compareTrumpf(Card first, Card second) {
-        return first.isHigherTrumpfThan(second) ? 1 : -1;
+    private boolean isTrumpf(Card card) {
+        return card.getColor() == trumpfColor;
     }
 
-    private int compareMoves(Card card1, Card card2) {
-        return card1.isHigherThan(card2) ? 1 : -1;
+    private static long[] createHigherTrumpfTable(Color trumpfColor) {
+        final Card[] cards = Card.values();
+        final long[] higherTrumpfs = new long[cards.length];
+        for (Card card : cards) {
+            for (Card other : cards) {
+                if (card.getColor() == trumpfColor && other.getColor() == trumpfColor && other.isHigherTrumpfThan(card)) {
+                    higherTrumpfs[card.ordinal()] |= CardSet.mask(other);
+                }
+            }
+        }
+        return higherTrumpfs;
+    }
+
+    private static int[] createScoreTable(Color trumpfColor) {
+        return GeneralRules.createScoreTable(FACTOR, card -> {
+            if(card.getValue() == CardValue.EIGHT) return 0;
+            if (card.getColor() == trumpfColor) {
+                return card.getValue().getTrumpfScore();
+            } else {
+                return card.getValue().getScore();
+            }
+        });
+    }
+
+    private static int[] createStrengthTable(Color trumpfColor) {
+        return GeneralRules.createStrengthTable((card, roundColor) -> {
+            if (card.getColor() == trumpfColor) return TRUMPF_STRENGTH + card.getValue().getTrumpfRank();
+            if (card.getColor() == roundColor) return card.getValue().getRank();
+            return 0;
+        });
     }
 
 }
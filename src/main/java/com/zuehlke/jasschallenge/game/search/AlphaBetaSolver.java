@@ -0,0 +1,77 @@
+package com.zuehlke.jasschallenge.game.search;
+
+/**
+ * Alpha-beta search over a {@link GameState} where all hands are known. Values are seen from the team to move:
+ * its final score minus the final score of the other team.
+ * <br><br>
+ * The search can be limited to a number of rounds, the score at that point is then taken as value.
+ * Of cards which are equivalent (see {@link GameState#distinctLegalMoves()}) only one is searched.
+ * A solver keeps statistics and is not thread safe, use one per thread.
+ */
+public class AlphaBetaSolver {
+
+    private long visitedNodes;
+
+    /**
+     * @return the value of the state for the team to move, searching until the end of the game
+     */
+    public int solve(GameState state) {
+        return solve(state, GameState.NUMBER_OF_ROUNDS);
+    }
+
+    /**
+     * @param rounds number of rounds to search, counting a round which is already started as a whole round
+     */
+    public int solve(GameState state, int rounds) {
+        return search(state, -Integer.MAX_VALUE, Integer.MAX_VALUE, getStopRound(state, rounds));
+    }
+
+    /**
+     * @return the value of playing the card for the team which plays it
+     */
+    public int solveMove(GameState state, int cardIndex, int rounds) {
+        final int stopRound = getStopRound(state, rounds);
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        state.makeMove(cardIndex);
+        try {
+            final int value = search(state, -Integer.MAX_VALUE, Integer.MAX_VALUE, stopRound);
+            return team == GameState.getTeam(state.getCurrentSeat()) ? value : -value;
+        } finally {
+            state.unmakeMove();
+        }
+    }
+
+    public long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    private int search(GameState state, int alpha, int beta, int stopRound) {
+        visitedNodes++;
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        if (state.getRoundNumber() >= stopRound) {
+            return state.getTeamScore(team) - state.getTeamScore(1 - team);
+        }
+
+        int best = -Integer.MAX_VALUE;
+        for (long moves = state.distinctLegalMoves(); moves != 0L; moves &= moves - 1) {
+            state.makeMove(Long.numberOfTrailingZeros(moves));
+            final int value = team == GameState.getTeam(state.getCurrentSeat())
+                    ? search(state, alpha, beta, stopRound)
+                    : -search(state, -beta, -alpha, stopRound);
+            state.unmakeMove();
+
+            if (value > best) {
+                best = value;
+                if (best > alpha) {
+                    alpha = best;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int getStopRound(GameState state, int rounds) {
+        return Math.min(GameState.NUMBER_OF_ROUNDS, state.getRoundNumber() + rounds);
+    }
+}
@@ -0,0 +1,152 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.CardCombinations;
+
+/**
+ * Goes through every way to deal the cards a player has not seen to the other seats exactly once, leaving out deals
+ * where a seat gets a card it is known not to hold. The counterpart of {@link DealSampler} for the end of a game, when
+ * there are few enough deals to look at all of them.
+ * <br><br>
+ * The seats are dealt one after the other, each going through the sets of its allowed cards in colex order (see
+ * {@link CardCombinations}); the last seat gets the remaining cards. {@link #next(long[])} does not allocate.
+ */
+public class DealEnumerator {
+
+    private final int[] seats;
+    private final int[] handSizes;
+    private final long[] forbiddenCards;
+    private final long[] remainingCards;
+    private final long[] allowedCards;
+    private final long[] combinations;
+    private final int lastSeat;
+    private final int numberOfChoices;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * @param unknownCards cards to deal
+     * @param handSizes number of cards to deal to each seat, 0 for seats whose hand is known
+     * @param forbiddenCards cards each seat cannot hold
+     */
+    public DealEnumerator(long unknownCards, int[] handSizes, long[] forbiddenCards) {
+        if (sum(handSizes) != Long.bitCount(unknownCards)) {
+            throw new RuntimeException("Cannot deal " + Long.bitCount(unknownCards) + " cards to hands of " + sum(handSizes) + " cards");
+        }
+
+        int numberOfSeats = 0;
+        final int[] dealtSeats = new int[handSizes.length];
+        for (int seat = 0; seat < handSizes.length; seat++) {
+            if (handSizes[seat] > 0) dealtSeats[numberOfSeats++] = seat;
+        }
+        this.seats = dealtSeats;
+        this.handSizes = handSizes.clone();
+        this.forbiddenCards = forbiddenCards.clone();
+        this.numberOfChoices = Math.max(0, numberOfSeats - 1);
+        this.lastSeat = numberOfSeats > 0 ? dealtSeats[numberOfSeats - 1] : -1;
+        this.remainingCards = new long[numberOfChoices + 1];
+        this.allowedCards = new long[numberOfChoices];
+        this.combinations = new long[numberOfChoices];
+        this.remainingCards[0] = unknownCards;
+    }
+
+    /**
+     * @return the number of deals when no seat has forbidden cards, an upper bound for the number of deals
+     */
+    public static long countDeals(int[] handSizes) {
+        long deals = 1;
+        int cards = 0;
+        for (int handSize : handSizes) {
+            cards += handSize;
+            deals *= CardCombinations.binomial(cards, handSize);
+        }
+        return deals;
+    }
+
+    /**
+     * Sets the hands of the dealt seats to the cards of the next deal, the hands of the other seats are not changed.
+     *
+     * @return false if there is no further deal
+     */
+    public boolean next(long[] hands) {
+        int level;
+        if (!started) {
+            started = true;
+            level = 0;
+            if (numberOfChoices > 0) startChoice(level);
+        } else {
+            if (numberOfChoices == 0) finished = true;
+            level = numberOfChoices - 1;
+            if (level >= 0) nextChoice(level);
+        }
+
+        while (!finished) {
+            if (level >= 0 && level < numberOfChoices && !isValidChoice(level)) {
+                if (level == 0) break;
+
+                level--;
+                nextChoice(level);
+                continue;
+            }
+
+            if (level < numberOfChoices - 1) {
+                remainingCards[level + 1] = remainingCards[level] & ~getChosenCards(level);
+                level++;
+                startChoice(level);
+                continue;
+            }
+
+            final long lastCards = numberOfChoices > 0 ? remainingCards[level] & ~getChosenCards(level) : remainingCards[0];
+            if (lastSeat >= 0 && (lastCards & forbiddenCards[lastSeat]) != 0L) {
+                if (numberOfChoices == 0) break;
+
+                nextChoice(level);
+                continue;
+            }
+
+            for (int i = 0; i < numberOfChoices; i++) {
+                hands[seats[i]] = getChosenCards(i);
+            }
+            if (lastSeat >= 0) hands[lastSeat] = lastCards;
+            return true;
+        }
+        finished = true;
+        return false;
+    }
+
+    private void startChoice(int level) {
+        allowedCards[level] = remainingCards[level] & ~forbiddenCards[seats[level]];
+        combinations[level] = (1L << handSizes[seats[level]]) - 1;
+    }
+
+    private void nextChoice(int level) {
+        combinations[level] = CardCombinations.next(combinations[level]);
+    }
+
+    private boolean isValidChoice(int level) {
+        return combinations[level] < 1L << Long.bitCount(allowedCards[level]);
+    }
+
+    /**
+     * @return the cards of the combination, which numbers the allowed cards from the lowest one
+     */
+    private long getChosenCards(int level) {
+        long cards = 0L;
+        long combination = combinations[level];
+        int position = 0;
+        for (long allowed = allowedCards[level]; combination != 0L; allowed &= allowed - 1, position++) {
+            if ((combination & 1L << position) != 0L) {
+                cards |= Long.lowestOneBit(allowed);
+                combination &= ~(1L << position);
+            }
+        }
+        return cards;
+    }
+
+    private static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
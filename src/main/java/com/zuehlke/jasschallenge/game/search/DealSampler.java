@@ -0,0 +1,110 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deals the cards a player has not seen to the other seats, so that every seat gets its number of cards and no
+ * seat gets a card it is known not to hold (e.g. a color it could not follow).
+ */
+public final class DealSampler {
+
+    private static final int MAX_ATTEMPTS = 20;
+
+    private DealSampler() {
+    }
+
+    /**
+     * @param unknownCards cards to deal
+     * @param handSizes number of cards to deal to each seat, 0 for seats whose hand is known
+     * @param forbiddenCards cards each seat cannot hold
+     * @param hands the dealt cards are added to these hands
+     * @return false if no deal respecting the forbidden cards was found, the cards were then dealt ignoring them
+     */
+    public static boolean sample(long unknownCards, int[] handSizes, long[] forbiddenCards, long[] hands, SplittableRandom random) {
+        int totalHandSizes = 0;
+        for (int handSize : handSizes) {
+            totalHandSizes += handSize;
+        }
+        if (totalHandSizes != Long.bitCount(unknownCards)) {
+            throw new RuntimeException("Cannot deal " + Long.bitCount(unknownCards) + " cards to hands of " + totalHandSizes + " cards");
+        }
+
+        final int[] cards = new int[Long.bitCount(unknownCards)];
+        int numberOfCards = 0;
+        for (long remaining = unknownCards; remaining != 0L; remaining &= remaining - 1) {
+            cards[numberOfCards++] = Long.numberOfTrailingZeros(remaining);
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (tryDeal(cards, handSizes, forbiddenCards, hands, random)) return true;
+        }
+        tryDeal(cards, handSizes, new long[handSizes.length], hands, random);
+        return false;
+    }
+
+    private static boolean tryDeal(int[] cards, int[] handSizes, long[] forbiddenCards, long[] hands, SplittableRandom random) {
+        shuffle(cards, random);
+        sortByNumberOfPossibleSeats(cards, forbiddenCards);
+
+        final int[] capacities = handSizes.clone();
+        final long[] dealtCards = new long[hands.length];
+        for (int card : cards) {
+            final long cardMask = 1L << card;
+            int totalCapacity = 0;
+            for (int seat = 0; seat < capacities.length; seat++) {
+                if ((forbiddenCards[seat] & cardMask) == 0L) totalCapacity += capacities[seat];
+            }
+            if (totalCapacity == 0) return false;
+
+            int chosen = random.nextInt(totalCapacity);
+            for (int seat = 0; seat < capacities.length; seat++) {
+                if ((forbiddenCards[seat] & cardMask) != 0L) continue;
+                chosen -= capacities[seat];
+                if (chosen < 0) {
+                    capacities[seat]--;
+                    dealtCards[seat] |= cardMask;
+                    break;
+                }
+            }
+        }
+
+        for (int seat = 0; seat < hands.length; seat++) {
+            hands[seat] |= dealtCards[seat];
+        }
+        return true;
+    }
+
+    private static void shuffle(int[] cards, SplittableRandom random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    /**
+     * Cards which only few seats can hold are dealt first. Insertion sort is stable, so the shuffled order is kept
+     * between cards with the same number of possible seats.
+     */
+    private static void sortByNumberOfPossibleSeats(int[] cards, long[] forbiddenCards) {
+        for (int i = 1; i < cards.length; i++) {
+            final int card = cards[i];
+            final int possibleSeats = countPossibleSeats(card, forbiddenCards);
+            int j = i - 1;
+            while (j >= 0 && countPossibleSeats(cards[j], forbiddenCards) > possibleSeats) {
+                cards[j + 1] = cards[j];
+                j--;
+            }
+            cards[j + 1] = card;
+        }
+    }
+
+    private static int countPossibleSeats(int card, long[] forbiddenCards) {
+        int possibleSeats = 0;
+        for (long forbidden : forbiddenCards) {
+            if ((forbidden & (1L << card)) == 0L) possibleSeats++;
+        }
+        return possibleSeats;
+    }
+}
@@ -0,0 +1,287 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import static com.zuehlke.jasschallenge.client.game.Game.LAST_ROUND_NUMBER;
+import static com.zuehlke.jasschallenge.game.search.TranspositionTable.NO_LOWER_BOUND;
+import static com.zuehlke.jasschallenge.game.search.TranspositionTable.NO_MOVE;
+import static com.zuehlke.jasschallenge.game.search.TranspositionTable.NO_UPPER_BOUND;
+
+/**
+ * Exact solver for a {@link GameState} with all hands open. Values are seen from the team to move: its final
+ * score minus the final score of the other team, so the last round bonus and the match bonus are included.
+ * <br><br>
+ * The solver runs a series of null window alpha-beta searches (MTD(f)), starting at a first guess and then
+ * halving the interval between the bounds found so far. The bounds found at every position are kept in a
+ * {@link TranspositionTable}, so the repeated searches and positions reached by different card orders are only
+ * searched once; positions at the start of a round and positions with more cards left are preferred when the table is full. A position is not searched
+ * at all if the points still to be won cannot bring the value into the window, or if the player to lead holds only
+ * cards which win every remaining round. Within a round, cards which probably win the round (or add points to the
+ * round of the partner) are tried first, and of equivalent cards only one is searched.
+ * <br><br>
+ * The table can be kept between solves of different positions. A solver is not thread safe, use one per thread.
+ */
+public class DoubleDummySolver {
+
+    private static final int DEFAULT_TABLE_SIZE_BITS = 18;
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+    private static final int MAX_MOVES = GameState.NUMBER_OF_ROUNDS;
+    private static final long[] SEAT_SEEDS = {1L << 40, 2L << 40, 3L << 40, 4L << 40};
+
+    private final TranspositionTable table;
+    private int totalPoints;
+    private final int[][] moves = new int[NUMBER_OF_CARDS + 1][MAX_MOVES];
+    private final int[][] moveOrder = new int[NUMBER_OF_CARDS + 1][MAX_MOVES];
+    private long visitedNodes;
+
+    public DoubleDummySolver() {
+        this(new TranspositionTable(DEFAULT_TABLE_SIZE_BITS));
+    }
+
+    public DoubleDummySolver(TranspositionTable table) {
+        this.table = table;
+    }
+
+    public int solve(GameState state) {
+        return solve(state, getScoreDifference(state));
+    }
+
+    /**
+     * @param firstGuess expected value, the closer it is the fewer null window searches are needed
+     */
+    public int solve(GameState state, int firstGuess) {
+        totalPoints = state.getMode().calculateRoundScore(LAST_ROUND_NUMBER, CardSet.ALL_CARDS_MASK);
+        final int scoreDifference = getScoreDifference(state);
+        final int remainingPoints = calculateRemainingPoints(state);
+        int lowerBound = scoreDifference - remainingPoints;
+        int upperBound = scoreDifference + remainingPoints;
+        int beta = Math.max(lowerBound + 1, Math.min(upperBound, firstGuess));
+        while (lowerBound < upperBound) {
+            final int value = search(state, beta - 1, beta, 0);
+            if (value < beta) {
+                upperBound = value;
+            } else {
+                lowerBound = value;
+            }
+            beta = (lowerBound + upperBound + 1) / 2;
+        }
+        return lowerBound;
+    }
+
+    /**
+     * @return the value of playing the card for the team which plays it
+     */
+    public int solveMove(GameState state, int cardIndex) {
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        state.makeMove(cardIndex);
+        try {
+            final int value = solve(state);
+            return team == GameState.getTeam(state.getCurrentSeat()) ? value : -value;
+        } finally {
+            state.unmakeMove();
+        }
+    }
+
+    public long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    private int search(GameState state, int alpha, int beta, int ply) {
+        visitedNodes++;
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        if (state.getRoundNumber() >= LAST_ROUND_NUMBER) return playLastRound(state, team);
+
+        final int scoreDifference = getScoreDifference(state);
+        // points of the cards which were not won yet, the cards of the current round included
+        final int remainingPoints = totalPoints - state.getTeamScore(0) - state.getTeamScore(1);
+        final int matchBonus = GameState.MATCH_BONUS * state.getMode().getFactor();
+        final int possibleMatchBonus = state.getTeamScore(0) == 0 || state.getTeamScore(1) == 0 ? matchBonus : 0;
+        final int upperLimit = scoreDifference + remainingPoints + possibleMatchBonus;
+        if (upperLimit <= alpha) return upperLimit;
+        final int lowerLimit = scoreDifference - remainingPoints - possibleMatchBonus;
+        if (lowerLimit >= beta) return lowerLimit;
+        if (state.getCardsInRound() == 0 && canWinAllRounds(state)) {
+            return scoreDifference + remainingPoints + (state.getTeamScore(1 - team) == 0 ? matchBonus : 0);
+        }
+
+        final long key = calculateKey(state);
+        int bestMove = NO_MOVE;
+        if (table.probe(key)) {
+            final int lowerBound = table.getLowerBound() + scoreDifference;
+            final int upperBound = table.getUpperBound() + scoreDifference;
+            if (lowerBound >= beta) return lowerBound;
+            if (upperBound <= alpha) return upperBound;
+            bestMove = table.getBestMove();
+        }
+
+        final int numberOfMoves = orderMoves(state, team, ply, bestMove);
+        int best = -Integer.MAX_VALUE;
+        int currentAlpha = alpha;
+        for (int i = 0; i < numberOfMoves; i++) {
+            final int move = moves[ply][i];
+            state.makeMove(move);
+            final int value = team == GameState.getTeam(state.getCurrentSeat())
+                    ? search(state, currentAlpha, beta, ply + 1)
+                    : -search(state, -beta, -currentAlpha, ply + 1);
+            state.unmakeMove();
+
+            if (value > best) {
+                best = value;
+                bestMove = move;
+                if (best > currentAlpha) {
+                    currentAlpha = best;
+                    if (currentAlpha >= beta) break;
+                }
+            }
+        }
+
+        final int futureValue = best - scoreDifference;
+        // positions at the start of a round are reached by different card orders, so they are kept first
+        final int cardsLeft = CardSet.size(getRemainingCards(state));
+        final int depth = state.getCardsInRound() == 0 ? NUMBER_OF_CARDS + cardsLeft : cardsLeft;
+        if (best <= alpha) {
+            table.store(key, NO_LOWER_BOUND, futureValue, bestMove, depth);
+        } else if (best >= beta) {
+            table.store(key, futureValue, NO_UPPER_BOUND, bestMove, depth);
+        } else {
+            table.store(key, futureValue, futureValue, bestMove, depth);
+        }
+        return best;
+    }
+
+    /**
+     * @return whether the player to lead holds only cards which beat every card left in the other hands, so the
+     * player wins all remaining rounds whatever the others play
+     */
+    private static boolean canWinAllRounds(GameState state) {
+        final Mode mode = state.getMode();
+        final long hand = state.getHand(state.getCurrentSeat());
+        final long otherCards = getRemainingCards(state) & ~hand;
+
+        for (long colors = hand; colors != 0L; colors &= ~CardSet.colorMask(CardSet.first(colors).getColor())) {
+            final Color color = CardSet.first(colors).getColor();
+            int weakestStrength = Integer.MAX_VALUE;
+            for (long cards = hand & CardSet.colorMask(color); cards != 0L; cards &= cards - 1) {
+                weakestStrength = Math.min(weakestStrength, mode.getCardStrength(CardSet.card(Long.numberOfTrailingZeros(cards)), color));
+            }
+            for (long cards = otherCards; cards != 0L; cards &= cards - 1) {
+                if (mode.getCardStrength(CardSet.card(Long.numberOfTrailingZeros(cards)), color) >= weakestStrength) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * In the last round every player has only one card left, so there is nothing to search.
+     */
+    private static int playLastRound(GameState state, int team) {
+        int playedCards = 0;
+        while (!state.isFinished()) {
+            state.makeMove(Long.numberOfTrailingZeros(state.getHand(state.getCurrentSeat())));
+            playedCards++;
+        }
+        final int value = state.getTeamScore(team) - state.getTeamScore(1 - team);
+        for (int i = 0; i < playedCards; i++) {
+            state.unmakeMove();
+        }
+        return value;
+    }
+
+    /**
+     * Sorts the legal moves by how promising they are: the best move of an earlier search first, then leading
+     * with strong cards, winning the round with the weakest winning card, adding points if the partner wins the
+     * round and giving away as few points as possible otherwise.
+     */
+    private int orderMoves(GameState state, int team, int ply, int bestMove) {
+        final Mode mode = state.getMode();
+        final int cardsInRound = state.getCardsInRound();
+        final Color roundColor = state.getRoundColor();
+        final int winningStrength = state.getRoundWinningStrength();
+        final boolean partnerWins = cardsInRound > 0 && GameState.getTeam(state.getRoundWinningSeat()) == team;
+
+        final int[] orderedMoves = moves[ply];
+        final int[] order = moveOrder[ply];
+        int numberOfMoves = 0;
+        for (long legalMoves = state.distinctLegalMoves(); legalMoves != 0L; legalMoves &= legalMoves - 1) {
+            final int cardIndex = Long.numberOfTrailingZeros(legalMoves);
+            final Card card = CardSet.card(cardIndex);
+            final int score = mode.getCardScore(card);
+            final int priority;
+            if (cardIndex == bestMove) {
+                priority = Integer.MAX_VALUE;
+            } else if (cardsInRound == 0) {
+                priority = mode.getCardStrength(card, card.getColor()) * 32 + score;
+            } else {
+                final int strength = mode.getCardStrength(card, roundColor);
+                if (partnerWins) {
+                    priority = 2000 + score * 32 - strength;
+                } else if (strength > winningStrength) {
+                    priority = 3000 + score - strength * 32;
+                } else {
+                    priority = 1000 - score * 32 - strength;
+                }
+            }
+
+            int i = numberOfMoves++;
+            while (i > 0 && order[i - 1] < priority) {
+                order[i] = order[i - 1];
+                orderedMoves[i] = orderedMoves[i - 1];
+                i--;
+            }
+            order[i] = priority;
+            orderedMoves[i] = cardIndex;
+        }
+        return numberOfMoves;
+    }
+
+    /**
+     * @return the points of all cards which were not yet won, including last round bonus and match bonus
+     */
+    private static int calculateRemainingPoints(GameState state) {
+        final long remainingCards = state.getRoundCards() | getRemainingCards(state);
+        return state.getMode().calculateRoundScore(GameState.NUMBER_OF_ROUNDS - 1, remainingCards) + GameState.MATCH_BONUS * state.getMode().getFactor();
+    }
+
+    /**
+     * @return the cards which are still in the hands
+     */
+    private static long getRemainingCards(GameState state) {
+        return state.getHand(0) | state.getHand(1) | state.getHand(2) | state.getHand(3);
+    }
+
+    private static int getScoreDifference(GameState state) {
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        return state.getTeamScore(team) - state.getTeamScore(1 - team);
+    }
+
+    /**
+     * Identifies a position by what is left to play for: the remaining hands, the cards of the current round with
+     * its color and the seat winning it so far, the starting seat, the mode and whether a team could still win
+     * every round (match bonus). The order of the cards of the round does not matter beyond that.
+     */
+    private static long calculateKey(GameState state) {
+        final Color roundColor = state.getRoundColor();
+        long position = state.getMode().getOrdinal();
+        position = position * GameState.NUMBER_OF_PLAYERS + state.getRoundStartingSeat();
+        position = position * (GameState.NUMBER_OF_PLAYERS + 1) + state.getRoundWinningSeat() + 1;
+        position = position * (Color.values().length + 1) + (roundColor == null ? 0 : roundColor.ordinal() + 1);
+        position = position * 2 + (state.getTeamScore(0) == 0 ? 1 : 0);
+        position = position * 2 + (state.getTeamScore(1) == 0 ? 1 : 0);
+        position = position << NUMBER_OF_CARDS | state.getRoundCards();
+
+        long key = mix(position);
+        for (int seat = 0; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+            key ^= mix(state.getHand(seat) + SEAT_SEEDS[seat]);
+        }
+        return key;
+    }
+
+    private static long mix(long value) {
+        long h = (value + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 31)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 29);
+    }
+}
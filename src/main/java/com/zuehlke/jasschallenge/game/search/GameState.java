@@ -0,0 +1,297 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.client.game.*;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+
+import java.util.List;
+
+/**
+ * Compact, mutable state of a single game for tree search. Seats are numbered in playing order (0 to 3), the
+ * players on seats 0 and 2 form team 0, the players on seats 1 and 3 team 1. Cards are addressed by their
+ * ordinal and hands are {@link CardSet} masks.
+ * <br><br>
+ * {@link #makeMove(int)} and {@link #unmakeMove()} run in constant time and do not allocate.
+ */
+public final class GameState {
+
+    public static final int NUMBER_OF_PLAYERS = 4;
+    public static final int NUMBER_OF_ROUNDS = Game.LAST_ROUND_NUMBER + 1;
+
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+    static final int MATCH_BONUS = 100;
+
+    private final Mode mode;
+    private final long[] hands = new long[NUMBER_OF_PLAYERS];
+    private final int[] teamScores = new int[2];
+
+    private final int[] moves = new int[NUMBER_OF_CARDS];
+    private final int[] roundStartingSeats = new int[NUMBER_OF_ROUNDS + 1];
+    private final int[] roundScores = new int[NUMBER_OF_ROUNDS];
+    private int numberOfMoves;
+    private int firstUndoableMove;
+
+    private int roundNumber;
+    private int cardsInRound;
+    private long roundCards;
+    private final int[] winningPositions = new int[NUMBER_OF_PLAYERS];
+    private final int[] winningStrengths = new int[NUMBER_OF_PLAYERS];
+    private int matchBonusTeam = -1;
+
+    public GameState(Mode mode, long[] hands, int startingSeat) {
+        this(mode, hands, startingSeat, 0);
+    }
+
+    private GameState(Mode mode, long[] hands, int startingSeat, int roundNumber) {
+        if (hands.length != NUMBER_OF_PLAYERS) throw new RuntimeException("A game needs exactly four hands");
+
+        this.mode = mode;
+        this.roundNumber = roundNumber;
+        this.roundStartingSeats[roundNumber] = startingSeat;
+        System.arraycopy(hands, 0, this.hands, 0, NUMBER_OF_PLAYERS);
+    }
+
+    /**
+     * Creates the state of the running game of a session. The session only knows the cards which were played,
+     * so the remaining cards of every seat have to be passed in (seats in the playing order of the session).
+     */
+    public static GameState fromSession(GameSession session, long[] remainingHands) {
+        final List<Player> players = session.getPlayersInPlayingOrder();
+        final Round round = session.getCurrentRound();
+        final List<Move> moves = round.getMoves();
+        final Player startingPlayer = moves.isEmpty() ? round.getPlayingOrder().getCurrentPlayer() : moves.get(0).getPlayer();
+
+        final GameState state = new GameState(round.getMode(), remainingHands, players.indexOf(startingPlayer), round.getRoundNumber());
+        final Result result = session.getCurrentGame().getResult();
+        state.teamScores[0] = result.getTeamScore(players.get(0));
+        state.teamScores[1] = result.getTeamScore(players.get(1));
+        for (Move move : moves) {
+            state.addPlayedCard(move.getPlayedCard().ordinal());
+        }
+        state.firstUndoableMove = state.numberOfMoves;
+        state.checkCardCounts(state.hands);
+        return state;
+    }
+
+    public static int getTeam(int seat) {
+        return seat & 1;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getHand(int seat) {
+        return hands[seat];
+    }
+
+    public int getTeamScore(int team) {
+        return teamScores[team];
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public int getRoundStartingSeat() {
+        return roundStartingSeats[roundNumber];
+    }
+
+    public int getCurrentSeat() {
+        return (getRoundStartingSeat() + cardsInRound) % NUMBER_OF_PLAYERS;
+    }
+
+    public int getCardsInRound() {
+        return cardsInRound;
+    }
+
+    public long getRoundCards() {
+        return roundCards;
+    }
+
+    /**
+     * @param position position in the current round, starting with 0 for the first card
+     */
+    public Card getRoundCard(int position) {
+        return CardSet.card(moves[numberOfMoves - cardsInRound + position]);
+    }
+
+    public Color getRoundColor() {
+        if (cardsInRound == 0) return null;
+
+        return getRoundCard(0).getColor();
+    }
+
+    public boolean isFinished() {
+        return roundNumber == NUMBER_OF_ROUNDS;
+    }
+
+    public long legalMoves() {
+        return mode.legalMoves(hands[getCurrentSeat()], roundCards, getRoundColor());
+    }
+
+    /**
+     * @return the legal moves with only one card of every group of equivalent cards, see
+     * {@link Mode#distinctLegalMoves(long, long, Color, long)}
+     */
+    public long distinctLegalMoves() {
+        final long remainingCards = hands[0] | hands[1] | hands[2] | hands[3];
+        return mode.distinctLegalMoves(hands[getCurrentSeat()], roundCards, getRoundColor(), CardSet.ALL_CARDS_MASK & ~remainingCards);
+    }
+
+    /**
+     * @return the seat which currently wins the round, or -1 if no card has been played in the round
+     */
+    public int getRoundWinningSeat() {
+        if (cardsInRound == 0) return -1;
+
+        return (getRoundStartingSeat() + winningPositions[cardsInRound - 1]) % NUMBER_OF_PLAYERS;
+    }
+
+    /**
+     * @return the {@link Mode#getCardStrength(Card, Color) strength} of the card which currently wins the round,
+     * or 0 if no card has been played in the round
+     */
+    public int getRoundWinningStrength() {
+        if (cardsInRound == 0) return 0;
+
+        return winningStrengths[cardsInRound - 1];
+    }
+
+    public void makeMove(Card card) {
+        makeMove(card.ordinal());
+    }
+
+    public void makeMove(int cardIndex) {
+        final int seat = getCurrentSeat();
+        final long card = 1L << cardIndex;
+        if ((hands[seat] & card) == 0L) throw new RuntimeException("Seat " + seat + " does not hold " + CardSet.card(cardIndex));
+
+        hands[seat] &= ~card;
+        addPlayedCard(cardIndex);
+    }
+
+    public void unmakeMove() {
+        if (numberOfMoves == firstUndoableMove) throw new RuntimeException("There is no move to take back");
+
+        if (cardsInRound == 0) {
+            reopenLastRound();
+        }
+        numberOfMoves--;
+        cardsInRound--;
+        final long card = 1L << moves[numberOfMoves];
+        roundCards &= ~card;
+        hands[getCurrentSeat()] |= card;
+    }
+
+    /**
+     * Replaces the hands of all seats in the current position, e.g. with another deal of the cards which are not
+     * known. Every seat must get as many cards as it holds now.
+     */
+    public void redeal(long[] hands) {
+        if (hands.length != NUMBER_OF_PLAYERS) throw new RuntimeException("A game needs exactly four hands");
+
+        checkCardCounts(hands);
+        System.arraycopy(hands, 0, this.hands, 0, NUMBER_OF_PLAYERS);
+    }
+
+    public GameState copy() {
+        final GameState copy = new GameState(mode, hands, 0, 0);
+        System.arraycopy(teamScores, 0, copy.teamScores, 0, teamScores.length);
+        System.arraycopy(moves, 0, copy.moves, 0, moves.length);
+        System.arraycopy(roundStartingSeats, 0, copy.roundStartingSeats, 0, roundStartingSeats.length);
+        System.arraycopy(roundScores, 0, copy.roundScores, 0, roundScores.length);
+        copy.numberOfMoves = numberOfMoves;
+        copy.firstUndoableMove = firstUndoableMove;
+        copy.roundNumber = roundNumber;
+        copy.cardsInRound = cardsInRound;
+        copy.roundCards = roundCards;
+        System.arraycopy(winningPositions, 0, copy.winningPositions, 0, winningPositions.length);
+        System.arraycopy(winningStrengths, 0, copy.winningStrengths, 0, winningStrengths.length);
+        copy.matchBonusTeam = matchBonusTeam;
+        return copy;
+    }
+
+    private void addPlayedCard(int cardIndex) {
+        moves[numberOfMoves++] = cardIndex;
+        roundCards |= 1L << cardIndex;
+        cardsInRound++;
+        updateWinningCard(cardsInRound - 1);
+        if (cardsInRound == NUMBER_OF_PLAYERS) {
+            closeRound();
+        }
+    }
+
+    private void closeRound() {
+        final int winningSeat = getRoundWinningSeat();
+        final int score = mode.calculateRoundScore(roundNumber, roundCards);
+        teamScores[getTeam(winningSeat)] += score;
+        roundScores[roundNumber] = score;
+
+        if (roundNumber == Game.LAST_ROUND_NUMBER && (teamScores[0] == 0 || teamScores[1] == 0)) {
+            matchBonusTeam = teamScores[0] > teamScores[1] ? 0 : 1;
+            teamScores[matchBonusTeam] += calculateMatchBonus();
+        }
+
+        roundNumber++;
+        roundStartingSeats[roundNumber] = winningSeat;
+        cardsInRound = 0;
+        roundCards = 0L;
+    }
+
+    private void reopenLastRound() {
+        final int winningSeat = roundStartingSeats[roundNumber];
+        roundNumber--;
+        cardsInRound = NUMBER_OF_PLAYERS;
+        roundCards = 0L;
+        for (int i = numberOfMoves - NUMBER_OF_PLAYERS; i < numberOfMoves; i++) {
+            roundCards |= 1L << moves[i];
+        }
+        for (int position = 0; position < NUMBER_OF_PLAYERS; position++) {
+            updateWinningCard(position);
+        }
+
+        if (matchBonusTeam >= 0) {
+            teamScores[matchBonusTeam] -= calculateMatchBonus();
+            matchBonusTeam = -1;
+        }
+        teamScores[getTeam(winningSeat)] -= roundScores[roundNumber];
+    }
+
+    /**
+     * Updates the winning card of the round after the card at the position, all cards of the round up to the
+     * position have to be on the move stack already.
+     */
+    private void updateWinningCard(int position) {
+        final int firstMove = numberOfMoves - cardsInRound;
+        final Card card = CardSet.card(moves[firstMove + position]);
+        final Color roundColor = position == 0 ? card.getColor() : CardSet.card(moves[firstMove]).getColor();
+        final int strength = mode.getCardStrength(card, roundColor);
+        if (position == 0 || strength > winningStrengths[position - 1]) {
+            winningPositions[position] = position;
+            winningStrengths[position] = strength;
+        } else {
+            winningPositions[position] = winningPositions[position - 1];
+            winningStrengths[position] = winningStrengths[position - 1];
+        }
+    }
+
+    private int calculateMatchBonus() {
+        return mode.getFactor() * MATCH_BONUS;
+    }
+
+    private void checkCardCounts(long[] hands) {
+        for (int seat = 0; seat < NUMBER_OF_PLAYERS; seat++) {
+            final int position = (seat - getRoundStartingSeat() + NUMBER_OF_PLAYERS) % NUMBER_OF_PLAYERS;
+            final int playedCards = roundNumber + (position < cardsInRound ? 1 : 0);
+            if (CardSet.size(hands[seat]) != NUMBER_OF_ROUNDS - playedCards) {
+                throw new RuntimeException("Seat " + seat + " must hold " + (NUMBER_OF_ROUNDS - playedCards) + " cards");
+            }
+            if ((hands[seat] & roundCards) != 0L) {
+                throw new RuntimeException("Seat " + seat + " holds a card which was already played");
+            }
+        }
+    }
+}
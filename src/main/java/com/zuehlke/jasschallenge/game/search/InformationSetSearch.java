@@ -0,0 +1,342 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+
+import java.util.SplittableRandom;
+
+/**
+ * Information set Monte Carlo tree search for the player on the current seat (single observer ISMCTS). Every
+ * iteration deals the cards the player has not seen anew with a {@link DealSampler}, walks down the tree with the
+ * moves which are legal in that deal and plays the rest of the game randomly. A node stands for the cards played so
+ * far, so it collects the results of all deals which lead to it.
+ * <br><br>
+ * Children are selected with UCB, where the number of times a child could have been selected (its availability)
+ * replaces the number of visits of the parent, as cards of the other players are only legal in some deals. Rewards
+ * are the share of the points a team made, from the view of the player who played the card of the node.
+ * <br><br>
+ * A search continues with the tree of the previous one, so it can be run in slices and topped up later.
+ * {@link #playCard(Card)} follows the cards which are actually played and keeps the subtree below them,
+ * {@link #clear()} starts over. The nodes are kept in arrays which grow as needed.
+ */
+public final class InformationSetSearch {
+
+    public static final double DEFAULT_EXPLORATION = 0.7;
+
+    private static final int NUMBER_OF_CARDS = Card.values().length;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int NO_NODE = -1;
+    private static final int ROOT = 0;
+
+    private final double exploration;
+
+    private Nodes nodes = new Nodes(INITIAL_CAPACITY);
+    private Nodes spareNodes = new Nodes(INITIAL_CAPACITY);
+    private int[] queue = new int[INITIAL_CAPACITY];
+    private int[] cards = nodes.cards;
+    private int[] teams = nodes.teams;
+    private int[] firstChildren = nodes.firstChildren;
+    private int[] nextSiblings = nodes.nextSiblings;
+    private int[] visits = nodes.visits;
+    private int[] availabilities = nodes.availabilities;
+    private double[] rewards = nodes.rewards;
+    private int numberOfNodes;
+
+    private final int[] path = new int[NUMBER_OF_CARDS];
+    private final long[] rootHands = new long[GameState.NUMBER_OF_PLAYERS];
+    private final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+    private int iterations;
+
+    public InformationSetSearch() {
+        this(DEFAULT_EXPLORATION);
+    }
+
+    public InformationSetSearch(double exploration) {
+        this.exploration = exploration;
+        clear();
+    }
+
+    /**
+     * Drops the tree, the next search starts from scratch.
+     */
+    public void clear() {
+        numberOfNodes = 0;
+        addNode(NO_NODE, NO_NODE, NO_NODE);
+    }
+
+    /**
+     * Moves the root of the tree to the node of the card, the next search has to start in the position after the
+     * card. The tree is cleared if the card was never searched.
+     */
+    public void playCard(Card card) {
+        for (int child = firstChildren[ROOT]; child != NO_NODE; child = nextSiblings[child]) {
+            if (cards[child] == card.ordinal()) {
+                keepSubtree(child);
+                return;
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Searches until the deadline, but at least one deal.
+     *
+     * @see #search(GameState, long, int[], long[], long, int, SplittableRandom)
+     */
+    public Card search(GameState state, long unknownCards, int[] handSizes, long[] forbiddenCards, long deadline, SplittableRandom random) {
+        return search(state, unknownCards, handSizes, forbiddenCards, deadline, Integer.MAX_VALUE, random);
+    }
+
+    /**
+     * Searches until the deadline or the maximum number of iterations is reached, but at least one deal. A deal which
+     * does not respect the forbidden cards is skipped, it counts towards the maximum number of iterations but does not
+     * change the tree. The state is in the same position with the same hands afterwards.
+     *
+     * @param state the position of the root of the tree, only the hands of the seats without cards to deal are used
+     * @param unknownCards cards to deal in every iteration
+     * @param handSizes number of cards to deal to each seat, 0 for seats whose hand is known
+     * @param forbiddenCards cards each seat cannot hold
+     * @return the card of the player on the current seat which was visited most often, null if the tree is empty
+     * because no deal respected the forbidden cards
+     */
+    public Card search(GameState state, long unknownCards, int[] handSizes, long[] forbiddenCards, long deadline, int maxIterations,
+                       SplittableRandom random) {
+        if (state.isFinished()) throw new RuntimeException("There is no card to play in a finished game");
+
+        for (int seat = 0; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+            rootHands[seat] = state.getHand(seat);
+        }
+        iterations = 0;
+        int deals = 0;
+        do {
+            for (int seat = 0; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+                hands[seat] = handSizes[seat] == 0 ? rootHands[seat] : 0L;
+            }
+            deals++;
+            if (!DealSampler.sample(unknownCards, handSizes, forbiddenCards, hands, random)) continue;
+            state.redeal(hands);
+
+            iterate(state, random);
+            iterations++;
+        } while (deals < maxIterations && System.nanoTime() < deadline);
+
+        state.redeal(rootHands);
+        if (firstChildren[ROOT] == NO_NODE) return null;
+        return CardSet.card(cards[getMostVisitedChild(ROOT)]);
+    }
+
+    /**
+     * @return the number of iterations of the last search, without the skipped deals
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return how often the position of the root was visited, also by earlier searches
+     */
+    public int getRootVisits() {
+        return visits[ROOT];
+    }
+
+    /**
+     * @return how often the card was visited, 0 if it was not
+     */
+    public int getVisits(Card card) {
+        for (int child = firstChildren[ROOT]; child != NO_NODE; child = nextSiblings[child]) {
+            if (cards[child] == card.ordinal()) return visits[child];
+        }
+        return 0;
+    }
+
+    private void iterate(GameState state, SplittableRandom random) {
+        int depth = select(state, random);
+        int moves = depth;
+        while (!state.isFinished()) {
+            state.makeMove(pick(state.legalMoves(), random));
+            moves++;
+        }
+
+        final int total = state.getTeamScore(0) + state.getTeamScore(1);
+        visits[ROOT]++;
+        for (int i = 0; i < depth; i++) {
+            final int node = path[i];
+            visits[node]++;
+            rewards[node] += (double) state.getTeamScore(teams[node]) / total;
+        }
+
+        for (int i = 0; i < moves; i++) {
+            state.unmakeMove();
+        }
+    }
+
+    /**
+     * Walks down the tree until a card without node is legal, which gets a new node, or until the game is finished.
+     *
+     * @return the number of nodes on the path
+     */
+    private int select(GameState state, SplittableRandom random) {
+        int node = ROOT;
+        int depth = 0;
+        while (!state.isFinished()) {
+            final long legalMoves = state.legalMoves();
+            long untriedMoves = legalMoves;
+            int bestChild = NO_NODE;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = firstChildren[node]; child != NO_NODE; child = nextSiblings[child]) {
+                final long card = 1L << cards[child];
+                if ((legalMoves & card) == 0L) continue;
+
+                untriedMoves &= ~card;
+                availabilities[child]++;
+                final double value = calculateUpperConfidenceBound(child);
+                if (value > bestValue) {
+                    bestChild = child;
+                    bestValue = value;
+                }
+            }
+
+            if (untriedMoves != 0L) {
+                final int card = pick(untriedMoves, random);
+                path[depth++] = addNode(node, card, GameState.getTeam(state.getCurrentSeat()));
+                state.makeMove(card);
+                return depth;
+            }
+
+            path[depth++] = bestChild;
+            state.makeMove(cards[bestChild]);
+            node = bestChild;
+        }
+        return depth;
+    }
+
+    private double calculateUpperConfidenceBound(int node) {
+        return rewards[node] / visits[node] + exploration * Math.sqrt(Math.log(availabilities[node]) / visits[node]);
+    }
+
+    private int getMostVisitedChild(int node) {
+        int mostVisitedChild = firstChildren[node];
+        for (int child = firstChildren[node]; child != NO_NODE; child = nextSiblings[child]) {
+            if (visits[child] > visits[mostVisitedChild]) mostVisitedChild = child;
+        }
+        return mostVisitedChild;
+    }
+
+    private int addNode(int parent, int card, int team) {
+        if (numberOfNodes == cards.length) {
+            grow();
+        }
+
+        final int node = numberOfNodes++;
+        cards[node] = card;
+        teams[node] = team;
+        firstChildren[node] = NO_NODE;
+        visits[node] = 0;
+        availabilities[node] = 1;
+        rewards[node] = 0;
+        if (parent != NO_NODE) {
+            nextSiblings[node] = firstChildren[parent];
+            firstChildren[parent] = node;
+        } else {
+            nextSiblings[node] = NO_NODE;
+        }
+        return node;
+    }
+
+    /**
+     * Copies the subtree of the node to the spare arrays in breadth first order, so the node becomes the root, and
+     * swaps the arrays.
+     */
+    private void keepSubtree(int node) {
+        if (spareNodes.cards.length < cards.length) {
+            spareNodes = new Nodes(cards.length);
+            queue = new int[cards.length];
+        }
+        final Nodes target = spareNodes;
+        queue[0] = node;
+        copyNode(node, target, ROOT);
+        target.nextSiblings[ROOT] = NO_NODE;
+        int size = 1;
+        for (int head = 0; head < size; head++) {
+            int previous = NO_NODE;
+            target.firstChildren[head] = NO_NODE;
+            for (int child = firstChildren[queue[head]]; child != NO_NODE; child = nextSiblings[child]) {
+                queue[size] = child;
+                copyNode(child, target, size);
+                target.nextSiblings[size] = NO_NODE;
+                if (previous == NO_NODE) {
+                    target.firstChildren[head] = size;
+                } else {
+                    target.nextSiblings[previous] = size;
+                }
+                previous = size++;
+            }
+        }
+
+        spareNodes = nodes;
+        use(target);
+        numberOfNodes = size;
+    }
+
+    private void copyNode(int node, Nodes target, int targetNode) {
+        target.cards[targetNode] = cards[node];
+        target.teams[targetNode] = teams[node];
+        target.visits[targetNode] = visits[node];
+        target.availabilities[targetNode] = availabilities[node];
+        target.rewards[targetNode] = rewards[node];
+    }
+
+    private void grow() {
+        final Nodes grown = new Nodes(cards.length * 2);
+        System.arraycopy(cards, 0, grown.cards, 0, numberOfNodes);
+        System.arraycopy(teams, 0, grown.teams, 0, numberOfNodes);
+        System.arraycopy(firstChildren, 0, grown.firstChildren, 0, numberOfNodes);
+        System.arraycopy(nextSiblings, 0, grown.nextSiblings, 0, numberOfNodes);
+        System.arraycopy(visits, 0, grown.visits, 0, numberOfNodes);
+        System.arraycopy(availabilities, 0, grown.availabilities, 0, numberOfNodes);
+        System.arraycopy(rewards, 0, grown.rewards, 0, numberOfNodes);
+        use(grown);
+    }
+
+    private void use(Nodes nodes) {
+        this.nodes = nodes;
+        cards = nodes.cards;
+        teams = nodes.teams;
+        firstChildren = nodes.firstChildren;
+        nextSiblings = nodes.nextSiblings;
+        visits = nodes.visits;
+        availabilities = nodes.availabilities;
+        rewards = nodes.rewards;
+    }
+
+    /**
+     * The fields of the nodes, one array per field.
+     */
+    private static final class Nodes {
+        private final int[] cards;
+        private final int[] teams;
+        private final int[] firstChildren;
+        private final int[] nextSiblings;
+        private final int[] visits;
+        private final int[] availabilities;
+        private final double[] rewards;
+
+        private Nodes(int capacity) {
+            cards = new int[capacity];
+            teams = new int[capacity];
+            firstChildren = new int[capacity];
+            nextSiblings = new int[capacity];
+            visits = new int[capacity];
+            availabilities = new int[capacity];
+            rewards = new double[capacity];
+        }
+    }
+
+    private static int pick(long cards, SplittableRandom random) {
+        long remaining = cards;
+        for (int i = random.nextInt(Long.bitCount(cards)); i > 0; i--) {
+            remaining &= remaining - 1;
+        }
+        return Long.numberOfTrailingZeros(remaining);
+    }
+}
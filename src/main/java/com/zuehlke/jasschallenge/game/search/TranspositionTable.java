@@ -0,0 +1,133 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed size hash table of value bounds and best moves of searched positions. The entries are kept off-heap in a
+ * direct {@link ByteBuffer}, so even large tables neither slow down the garbage collector nor count against the heap.
+ * <br><br>
+ * A position hashes to a bucket of two entries. Bounds of a position which is already in the bucket are tightened.
+ * A new position takes the first entry if it was searched at least as deep as the position stored there, which then
+ * moves to the second entry; otherwise it replaces the second entry.
+ */
+public class TranspositionTable {
+
+    static final int NO_LOWER_BOUND = -100_000;
+    static final int NO_UPPER_BOUND = 100_000;
+    static final int NO_MOVE = -1;
+
+    private static final int MAX_SIZE_BITS = 26;
+    private static final int ENTRY_SIZE = 16;
+    private static final int ENTRIES_PER_BUCKET = 2;
+
+    private static final int KEY_OFFSET = 0;
+    private static final int LOWER_BOUND_OFFSET = 8;
+    private static final int UPPER_BOUND_OFFSET = 10;
+    private static final int BEST_MOVE_OFFSET = 12;
+    private static final int DEPTH_OFFSET = 13;
+    private static final int FLAGS_OFFSET = 14;
+
+    private static final byte HAS_LOWER_BOUND = 1;
+    private static final byte HAS_UPPER_BOUND = 2;
+    private static final byte IN_USE = 4;
+
+    private final ByteBuffer entries;
+    private final int bucketMask;
+
+    private int entry;
+
+    /**
+     * @param sizeBits the table has {@code 2^sizeBits} entries of 16 bytes
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > MAX_SIZE_BITS) throw new RuntimeException("Table size must be between 2^1 and 2^" + MAX_SIZE_BITS + " entries");
+
+        final int size = 1 << sizeBits;
+        this.entries = ByteBuffer.allocateDirect(size * ENTRY_SIZE).order(ByteOrder.nativeOrder());
+        this.bucketMask = size / ENTRIES_PER_BUCKET - 1;
+    }
+
+    /**
+     * Looks up a position; on success its bounds can be read with {@link #getLowerBound()} and
+     * {@link #getUpperBound()}.
+     */
+    public boolean probe(long key) {
+        final int bucket = getBucket(key);
+        for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+            entry = bucket + i * ENTRY_SIZE;
+            if (isEntryOf(entry, key)) return true;
+        }
+        return false;
+    }
+
+    public int getLowerBound() {
+        return (entries.get(entry + FLAGS_OFFSET) & HAS_LOWER_BOUND) != 0 ? entries.getShort(entry + LOWER_BOUND_OFFSET) : NO_LOWER_BOUND;
+    }
+
+    public int getUpperBound() {
+        return (entries.get(entry + FLAGS_OFFSET) & HAS_UPPER_BOUND) != 0 ? entries.getShort(entry + UPPER_BOUND_OFFSET) : NO_UPPER_BOUND;
+    }
+
+    /**
+     * @return the card index of the best move found so far, or {@link #NO_MOVE}
+     */
+    public int getBestMove() {
+        return entries.get(entry + BEST_MOVE_OFFSET);
+    }
+
+    /**
+     * @param depth how deep the position was searched, deeper positions are kept longer
+     */
+    public void store(long key, int lowerBound, int upperBound, int bestMove, int depth) {
+        final int first = getBucket(key);
+        final int second = first + ENTRY_SIZE;
+        if (isEntryOf(first, key)) {
+            update(first, lowerBound, upperBound, bestMove, depth);
+        } else if (isEntryOf(second, key)) {
+            update(second, lowerBound, upperBound, bestMove, depth);
+        } else if (depth >= entries.get(first + DEPTH_OFFSET)) {
+            entries.putLong(second + KEY_OFFSET, entries.getLong(first + KEY_OFFSET));
+            entries.putLong(second + LOWER_BOUND_OFFSET, entries.getLong(first + LOWER_BOUND_OFFSET));
+            write(first, key, lowerBound, upperBound, bestMove, depth);
+        } else {
+            write(second, key, lowerBound, upperBound, bestMove, depth);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.capacity(); i += Long.BYTES) {
+            entries.putLong(i, 0L);
+        }
+    }
+
+    private int getBucket(long key) {
+        return ((int) key & bucketMask) * ENTRIES_PER_BUCKET * ENTRY_SIZE;
+    }
+
+    private boolean isEntryOf(int entry, long key) {
+        return entries.getLong(entry + KEY_OFFSET) == key && (entries.get(entry + FLAGS_OFFSET) & IN_USE) != 0;
+    }
+
+    private void update(int entry, int lowerBound, int upperBound, int bestMove, int depth) {
+        this.entry = entry;
+        write(entry, entries.getLong(entry + KEY_OFFSET),
+                Math.max(getLowerBound(), lowerBound),
+                Math.min(getUpperBound(), upperBound),
+                bestMove,
+                Math.max(entries.get(entry + DEPTH_OFFSET), depth));
+    }
+
+    private void write(int entry, long key, int lowerBound, int upperBound, int bestMove, int depth) {
+        byte flags = IN_USE;
+        if (lowerBound > NO_LOWER_BOUND) flags |= HAS_LOWER_BOUND;
+        if (upperBound < NO_UPPER_BOUND) flags |= HAS_UPPER_BOUND;
+
+        entries.putLong(entry + KEY_OFFSET, key);
+        entries.putShort(entry + LOWER_BOUND_OFFSET, (short) lowerBound);
+        entries.putShort(entry + UPPER_BOUND_OFFSET, (short) upperBound);
+        entries.put(entry + BEST_MOVE_OFFSET, (byte) bestMove);
+        entries.put(entry + DEPTH_OFFSET, (byte) depth);
+        entries.put(entry + FLAGS_OFFSET, flags);
+    }
+}
@@ -0,0 +1,31 @@
+package com.zuehlke.jasschallenge;
+
+import com.zuehlke.jasschallenge.client.EvaluationResult;
+import com.zuehlke.jasschallenge.client.StrategyEvaluator;
+import com.zuehlke.jasschallenge.client.game.strategy.FloJassStrategy;
+import com.zuehlke.jasschallenge.client.game.strategy.RandomJassStrategy;
+
+/**
+ * Plays your strategy against random bots on all cores, without the challenge server.
+ */
+class ApplicationEvaluation {
+
+    //CHALLENGE2017: Set the number of games to play
+    private static final int NUMBER_OF_GAMES = 100000;
+
+    //CHALLENGE2017: Play every deal twice with swapped seats to reduce the luck of the deal
+    private static final boolean DUPLICATE_DEALS = true;
+
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+
+        //CHALLENGE2017: Set your strategy and the strategy to compare with
+        final StrategyEvaluator evaluator = new StrategyEvaluator(FloJassStrategy::new, RandomJassStrategy::new);
+
+        final EvaluationResult result = DUPLICATE_DEALS
+                ? evaluator.evaluateDuplicate(NUMBER_OF_GAMES / 2, SEED)
+                : evaluator.evaluate(NUMBER_OF_GAMES, SEED);
+        System.out.println(result);
+    }
+}
@@ -0,0 +1,32 @@
+package com.zuehlke.jasschallenge;
+
+import com.zuehlke.jasschallenge.client.game.strategy.TrumpfEvaluator;
+import com.zuehlke.jasschallenge.client.game.strategy.TrumpfTableGenerator;
+
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Precomputes the trumpf choice of all 4'102'499 canonical hands into a table file of 64 MB, for use with a
+ * TrumpfTableJassStrategy. Every hand gets the full time budget on all cores, so with 50 ms per hand this takes about
+ * 57 hours. The progress is saved every 10'000 hands to trumpf.table.checkpoint; a stopped run continues from there
+ * when it is started again.
+ */
+class ApplicationTrumpfTable {
+
+    //CHALLENGE2017: Set the file to write
+    private static final String TABLE_FILE = "trumpf.table";
+
+    //CHALLENGE2017: Set the time to evaluate a single hand and the number of hands (fewer hands give a partial table)
+    private static final long TIME_BUDGET_MILLIS_PER_HAND = 50;
+    private static final long NUMBER_OF_HANDS = Long.MAX_VALUE;
+
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws Exception {
+
+        final TrumpfEvaluator evaluator = new TrumpfEvaluator(Runtime.getRuntime().availableProcessors());
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(evaluator, TIME_BUDGET_MILLIS_PER_HAND, new SplittableRandom(SEED));
+        generator.generate(Paths.get(TABLE_FILE), NUMBER_OF_HANDS);
+    }
+}
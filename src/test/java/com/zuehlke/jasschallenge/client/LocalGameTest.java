@@ -0,0 +1,94 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.strategy.AlwaysShiftRandomJassStrategy;
+import com.zuehlke.jasschallenge.client.game.strategy.JassStrategy;
+import com.zuehlke.jasschallenge.client.game.strategy.RandomJassStrategy;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.*;
+
+public class LocalGameTest {
+
+    @Test
+    public void playGame_teamsGetAllPointsOfMode() {
+
+        final LocalGame localGame = new LocalGame(randomStrategies(), 0, new SplittableRandom(42));
+
+        for (int i = 0; i < 50; i++) {
+            final GameResult result = localGame.playGame();
+            final int factor = result.getMode().getFactor();
+
+            assertThat(result.getTeamScore(0) + result.getTeamScore(1), anyOf(equalTo(157 * factor), equalTo(257 * factor)));
+        }
+    }
+
+    @Test
+    public void playGame_trumpfIsShifted_partnerChoosesTrumpf() {
+
+        final List<JassStrategy> strategies = asList(
+                new AlwaysShiftRandomJassStrategy(),
+                new RandomJassStrategy(),
+                new RandomJassStrategy(),
+                new RandomJassStrategy());
+        final LocalGame localGame = new LocalGame(strategies, 0, new SplittableRandom(42));
+
+        final GameResult result = localGame.playGame();
+
+        assertTrue(result.isShifted());
+        assertEquals(2, result.getTrumpfSeat());
+        assertNotEquals(Mode.shift(), result.getMode());
+    }
+
+    @Test
+    public void playGame_nextGameIsChosenByNextSeat() {
+
+        final LocalGame localGame = new LocalGame(randomStrategies(), 0, new SplittableRandom(42));
+
+        localGame.playGame();
+        final GameResult result = localGame.playGame();
+
+        assertEquals(1, result.getTrumpfSeat());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void playGame_shiftedTrumpfIsShiftedAgain() {
+
+        final JassStrategy alwaysShift = new RandomJassStrategy() {
+            @Override
+            public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
+                return Mode.shift();
+            }
+        };
+        final LocalGame localGame = new LocalGame(asList(alwaysShift, alwaysShift, alwaysShift, alwaysShift), 0, new SplittableRandom(42));
+
+        localGame.playGame();
+    }
+
+    @Test
+    public void deal_everyCardIsDealtOnce() {
+
+        final List<Set<Card>> hands = LocalGame.deal(new SplittableRandom(7));
+
+        final Set<Card> allCards = EnumSet.noneOf(Card.class);
+        for (Set<Card> hand : hands) {
+            assertEquals(9, hand.size());
+            allCards.addAll(hand);
+        }
+        assertEquals(EnumSet.allOf(Card.class), allCards);
+    }
+
+    private static List<JassStrategy> randomStrategies() {
+        return asList(new RandomJassStrategy(), new RandomJassStrategy(), new RandomJassStrategy(), new RandomJassStrategy());
+    }
+}
@@ -0,0 +1,39 @@
+package com.zuehlke.jasschallenge.client;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ScoreStatisticsTest {
+
+    @Test
+    public void add_meanAndStandardDeviation() {
+
+        final ScoreStatistics statistics = new ScoreStatistics();
+        for (int score : new int[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(score);
+        }
+
+        assertEquals(8, statistics.getCount());
+        assertEquals(5.0, statistics.getMean(), 1e-9);
+        assertEquals(Math.sqrt(32.0 / 7), statistics.getStandardDeviation(), 1e-9);
+    }
+
+    @Test
+    public void merge_sameAsAddingAllScores() {
+
+        final ScoreStatistics all = new ScoreStatistics();
+        final ScoreStatistics first = new ScoreStatistics();
+        final ScoreStatistics second = new ScoreStatistics();
+        for (int score = 0; score < 100; score++) {
+            all.add(score * score);
+            (score < 30 ? first : second).add(score * score);
+        }
+
+        first.merge(second);
+
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMean(), first.getMean(), 1e-9);
+        assertEquals(all.getStandardDeviation(), first.getStandardDeviation(), 1e-9);
+    }
+}
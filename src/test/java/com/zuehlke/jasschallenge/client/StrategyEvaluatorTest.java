@@ -0,0 +1,48 @@
+package com.zuehlke.jasschallenge.client;
+
+import com.zuehlke.jasschallenge.client.game.strategy.FloJassStrategy;
+import com.zuehlke.jasschallenge.client.game.strategy.RandomJassStrategy;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StrategyEvaluatorTest {
+
+    @Test
+    public void evaluate_playsAllGames() {
+
+        final StrategyEvaluator evaluator = new StrategyEvaluator(FloJassStrategy::new, RandomJassStrategy::new);
+
+        final EvaluationResult result = evaluator.evaluate(1000, 42);
+
+        assertEquals(1000, result.getNumberOfGames());
+        final long gamesPerMode = Mode.allModes().stream().mapToLong(mode -> result.getPointsA(mode).getCount()).sum();
+        assertEquals(1000, gamesPerMode);
+    }
+
+    @Test
+    public void evaluate_sameSeed_sameResult() {
+
+        final StrategyEvaluator evaluator = new StrategyEvaluator(FloJassStrategy::new, FloJassStrategy::new);
+
+        final EvaluationResult first = evaluator.evaluate(1000, 7);
+        final EvaluationResult second = evaluator.evaluate(1000, 7);
+
+        assertEquals(first.getPointsA().getMean(), second.getPointsA().getMean(), 0);
+        assertEquals(first.getDifference().getStandardDeviation(), second.getDifference().getStandardDeviation(), 0);
+    }
+
+    @Test
+    public void evaluateDuplicate_sameStrategies_luckOfTheDealCancelsOut() {
+
+        final StrategyEvaluator evaluator = new StrategyEvaluator(FloJassStrategy::new, FloJassStrategy::new);
+
+        final EvaluationResult result = evaluator.evaluateDuplicate(500, 3);
+
+        assertEquals(1000, result.getNumberOfGames());
+        assertEquals(500, result.getDifference().getCount());
+        assertEquals(0, result.getDifference().getMean(), 0);
+        assertEquals(0, result.getDifference().getStandardDeviation(), 0);
+    }
+}
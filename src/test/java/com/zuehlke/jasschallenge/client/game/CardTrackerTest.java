@@ -0,0 +1,148 @@
+package com.zuehlke.jasschallenge.client.game;
+
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.CardValue;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class CardTrackerTest {
+
+    private static final Mode CLUBS_TRUMPF = Mode.from(Trumpf.TRUMPF, Color.CLUBS);
+
+    @Test
+    public void calculateExcludedCards_roundColorNotFollowed_noCardsOfRoundColor() {
+
+        final long excludedCards = CardTracker.calculateExcludedCards(CLUB_SIX, Mode.topDown(), CardSet.mask(HEART_TEN), Color.HEARTS);
+
+        assertEquals(CardSet.colorMask(Color.HEARTS), excludedCards);
+    }
+
+    @Test
+    public void calculateExcludedCards_trumpfPlayed_noInformation() {
+
+        final long excludedCards = CardTracker.calculateExcludedCards(CLUB_SIX, CLUBS_TRUMPF, CardSet.mask(HEART_TEN), Color.HEARTS);
+
+        assertEquals(0L, excludedCards);
+    }
+
+    @Test
+    public void calculateExcludedCards_trumpfNotFollowed_jackOfTrumpfCanStillBeHeld() {
+
+        final long excludedCards = CardTracker.calculateExcludedCards(HEART_SIX, CLUBS_TRUMPF, CardSet.mask(CLUB_TEN), Color.CLUBS);
+
+        assertEquals(CardSet.colorMask(Color.CLUBS) & ~CardSet.mask(CLUB_JACK), excludedCards);
+    }
+
+    @Test
+    public void calculateExcludedCards_lowerTrumpfPlayed_onlyTrumpfsLeft() {
+
+        final long roundCards = CardSet.mask(HEART_TEN) | CardSet.mask(CLUB_NINE);
+
+        final long excludedCards = CardTracker.calculateExcludedCards(CLUB_ACE, CLUBS_TRUMPF, roundCards, Color.HEARTS);
+
+        assertEquals(CardSet.ALL_CARDS_MASK & ~CardSet.colorMask(Color.CLUBS), excludedCards);
+    }
+
+    @Test
+    public void calculateExcludedCards_higherTrumpfPlayed_noInformation() {
+
+        final long roundCards = CardSet.mask(HEART_TEN) | CardSet.mask(CLUB_ACE);
+
+        final long excludedCards = CardTracker.calculateExcludedCards(CLUB_NINE, CLUBS_TRUMPF, roundCards, Color.HEARTS);
+
+        assertEquals(0L, excludedCards);
+    }
+
+    @Test
+    public void makeMove_cardsArePlayed_trackerKnowsPlayedAndShownCards() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        gameSession.startNewGame(Mode.topDown(), false);
+        makeMoves(gameSession, HEART_TEN, HEART_SIX);
+
+        final CardTracker tracker = gameSession.getCardTracker();
+        final int firstSeat = seatOf(gameSession, 0);
+        assertEquals(CardSet.mask(HEART_TEN) | CardSet.mask(HEART_SIX), tracker.getPlayedCards());
+        assertEquals(CardSet.mask(HEART_TEN) | CardSet.mask(HEART_SIX), tracker.getPlayedCards(Color.HEARTS));
+        assertEquals(0L, tracker.getPlayedCards(Color.CLUBS));
+        assertEquals(CardSet.mask(HEART_TEN), tracker.getShownCards(firstSeat));
+    }
+
+    @Test
+    public void makeMove_roundColorNotFollowed_seatIsVoid() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        gameSession.startNewGame(Mode.topDown(), false);
+        makeMoves(gameSession, HEART_TEN, CLUB_SIX);
+
+        final CardTracker tracker = gameSession.getCardTracker();
+        assertThat(tracker.isVoid(seatOf(gameSession, 1), Color.HEARTS), is(true));
+        assertThat(tracker.isVoid(seatOf(gameSession, 1), Color.CLUBS), is(false));
+        assertThat(tracker.isVoid(seatOf(gameSession, 0), Color.HEARTS), is(false));
+    }
+
+    @Test
+    public void startNewGame_aGameWasPlayed_trackerIsReset() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        gameSession.startNewGame(Mode.topDown(), false);
+        makeMoves(gameSession, HEART_TEN, CLUB_SIX);
+
+        gameSession.startNewGame(CLUBS_TRUMPF, false);
+
+        final CardTracker tracker = gameSession.getCardTracker();
+        assertThat(tracker.getPlayedCards(), equalTo(0L));
+        assertThat(tracker.getMode(), equalTo(CLUBS_TRUMPF));
+        for (int seat = 0; seat < 4; seat++) {
+            assertThat(tracker.getExcludedCards(seat), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void getNumberOfCards_cardsArePlayed_fewerCardsLeft() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        gameSession.startNewGame(Mode.topDown(), false);
+        makeMoves(gameSession, HEART_TEN, HEART_SIX);
+
+        final CardTracker tracker = gameSession.getCardTracker();
+        final Player currentPlayer = gameSession.getCurrentRound().getPlayingOrder().getCurrentPlayer();
+        assertThat(tracker.getNumberOfCards(seatOf(gameSession, 0)), equalTo(8));
+        assertThat(tracker.getNumberOfCards(seatOf(gameSession, 1)), equalTo(8));
+        assertThat(tracker.getNumberOfCards(gameSession.getPlayersInPlayingOrder().indexOf(currentPlayer)), equalTo(9));
+    }
+
+    @Test
+    public void getUnknownCards_withoutHandAndPlayedCards() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        gameSession.startNewGame(Mode.topDown(), false);
+        makeMoves(gameSession, HEART_TEN);
+
+        final long hand = CardSet.mask(Color.SPADES, CardValue.ACE);
+
+        assertEquals(CardSet.ALL_CARDS_MASK & ~hand & ~CardSet.mask(HEART_TEN), gameSession.getCardTracker().getUnknownCards(hand));
+    }
+
+    private static void makeMoves(GameSession gameSession, Card... cards) {
+        for (Card card : cards) {
+            gameSession.makeMove(new Move(gameSession.getCurrentRound().getPlayingOrder().getCurrentPlayer(), card));
+        }
+    }
+
+    private static int seatOf(GameSession gameSession, int move) {
+        final List<Move> moves = gameSession.getCurrentRound().getMoves();
+        return gameSession.getPlayersInPlayingOrder().indexOf(moves.get(move).getPlayer());
+    }
+}
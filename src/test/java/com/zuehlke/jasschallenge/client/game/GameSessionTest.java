@@ -122,4 +122,13 @@ public class GameSessionTest {
         assertThat(gameSession.getCurrentRound().getPlayingOrder().getCurrentPlayer(), is(new Player("Player 2")));
     }
 
+    @Test(expected = RuntimeException.class)
+    public void makeMove_playerIsNotPartOfSession_throws() {
+        final GameSession gameSession = GameSessionBuilder.newSession()
+                .withStartedGame(Mode.topDown())
+                .createGameSession();
+
+        gameSession.makeMove(new Move(new Player("Stranger"), Card.CLUB_ACE));
+    }
+
 }
\ No newline at end of file
@@ -2,12 +2,14 @@ package com.zuehlke.jasschallenge.client.game;
 
 import com.zuehlke.jasschallenge.game.cards.Card;
 import com.zuehlke.jasschallenge.game.mode.Mode;
+import com.zuehlke.jasschallenge.client.game.strategy.FloJassStrategy;
 import com.zuehlke.jasschallenge.client.game.strategy.JassStrategy;
 import org.junit.Test;
 import org.mockito.Matchers;
 
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -36,4 +38,143 @@ public class PlayerTest {
         assertThat(card, equalTo(Card.CLUB_ACE));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void chooseCard_strategyDecidesInTime() {
+
+        final GameSession gameSession = GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.bottomUp())
+                .createGameSession();
+        final Player player = new Player("test", new SlowJassStrategy(0));
+        player.setDecisionTimeout(1000);
+        player.setCards(EnumSet.of(Card.HEART_EIGHT, Card.CLUB_ACE));
+
+        final Card card = player.makeMove(gameSession).getPlayedCard();
+
+        assertThat(card, equalTo(Card.HEART_EIGHT));
+    }
+
+    @Test
+    public void chooseCard_strategyTooSlow_playsCardOfFallbackStrategy() {
+
+        final GameSession gameSession = GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.bottomUp())
+                .createGameSession();
+        final SlowJassStrategy slowStrategy = new SlowJassStrategy(10_000);
+        final Player player = new Player("test", slowStrategy);
+        player.setDecisionTimeout(10);
+        player.setCards(EnumSet.of(Card.HEART_EIGHT, Card.CLUB_ACE));
+        final Card fallbackCard = new FloJassStrategy().chooseCard(EnumSet.of(Card.HEART_EIGHT, Card.CLUB_ACE), gameSession);
+
+        final Card card = player.makeMove(gameSession).getPlayedCard();
+        player.onGameFinished();
+
+        assertThat(card, equalTo(fallbackCard));
+        assertThat(slowStrategy.interrupted, equalTo(true));
+    }
+
+    @Test
+    public void chooseTrumpf_strategyTooSlow_choosesTrumpfOfFallbackStrategy() {
+
+        final GameSession gameSession = GameSessionBuilder.newSession().createGameSession();
+        final Set<Card> cards = EnumSet.of(Card.HEART_JACK, Card.HEART_NINE, Card.HEART_ACE, Card.CLUB_ACE);
+        final Player player = new Player("test", new SlowJassStrategy(10_000));
+        player.setDecisionTimeout(10);
+        player.setCards(cards);
+
+        final Mode mode = player.chooseTrumpf(gameSession, false);
+
+        assertThat(mode, equalTo(new FloJassStrategy().chooseTrumpf(cards, gameSession, false)));
+    }
+
+    @Test
+    public void awaitLateDecision_strategyIgnoresInterrupt_waitsUntilStrategyReturned() {
+
+        final GameSession gameSession = GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.bottomUp())
+                .createGameSession();
+        final AtomicBoolean returned = new AtomicBoolean();
+        final Player player = new Player("test", new FloJassStrategy() {
+            @Override
+            public Card chooseCard(Set<Card> availableCards, GameSession session) {
+                final long end = System.nanoTime() + 200_000_000;
+                while (System.nanoTime() < end) {
+                    Thread.yield();
+                }
+                returned.set(true);
+                return super.chooseCard(availableCards, session);
+            }
+        });
+        player.setDecisionTimeout(10);
+        player.setCards(EnumSet.of(Card.HEART_EIGHT, Card.CLUB_ACE));
+        player.makeMove(gameSession);
+
+        player.awaitLateDecision();
+
+        assertThat(returned.get(), equalTo(true));
+    }
+
+    @Test
+    public void awaitLateDecision_threadIsInterrupted_waitsUntilStrategyReturnedAndKeepsInterrupt() {
+
+        final GameSession gameSession = GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.bottomUp())
+                .createGameSession();
+        final AtomicBoolean returned = new AtomicBoolean();
+        final Player player = new Player("test", new FloJassStrategy() {
+            @Override
+            public Card chooseCard(Set<Card> availableCards, GameSession session) {
+                final long end = System.nanoTime() + 200_000_000;
+                while (System.nanoTime() < end) {
+                    Thread.yield();
+                }
+                returned.set(true);
+                return super.chooseCard(availableCards, session);
+            }
+        });
+        player.setDecisionTimeout(10);
+        player.setCards(EnumSet.of(Card.HEART_EIGHT, Card.CLUB_ACE));
+        player.makeMove(gameSession);
+
+        Thread.currentThread().interrupt();
+        player.awaitLateDecision();
+
+        assertThat(Thread.interrupted(), equalTo(true));
+        assertThat(returned.get(), equalTo(true));
+    }
+
+    /**
+     * Plays the first card and the top down mode after waiting, stops waiting when it is interrupted.
+     */
+    private static class SlowJassStrategy implements JassStrategy {
+        private final long delayMillis;
+        private volatile boolean interrupted;
+
+        private SlowJassStrategy(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Mode chooseTrumpf(Set<Card> availableCards, GameSession session, boolean isGschobe) {
+            waitForDelay();
+            return Mode.topDown();
+        }
+
+        @Override
+        public Card chooseCard(Set<Card> availableCards, GameSession session) {
+            waitForDelay();
+            return availableCards.iterator().next();
+        }
+
+        private void waitForDelay() {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+}
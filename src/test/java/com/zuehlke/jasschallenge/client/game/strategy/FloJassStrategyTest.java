@@ -1,9 +1,11 @@
 package com.zuehlke.jasschallenge.client.game.strategy;
 
 import com.zuehlke.jasschallenge.Application;
+import com.zuehlke.jasschallenge.client.LocalGame;
 import com.zuehlke.jasschallenge.client.game.*;
 import com.zuehlke.jasschallenge.game.Trumpf;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import com.zuehlke.jasschallenge.game.mode.Mode;
 import org.eclipse.jetty.websocket.api.Session;
@@ -13,14 +15,21 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class FloJassStrategyTest {
 
+    private static final long SEED = 42;
+    private static final int NUMBER_OF_HANDS = 10_000;
+    private static final int NUMBER_OF_GAMES_PER_MODE = 200;
+
     private FloJassStrategy sut;
 
     @Before
@@ -153,6 +162,7 @@ public class FloJassStrategyTest {
         Mode mode = Mode.topDown();
         Round round = Round.createRound(mode, 1, null);
         when(session.getCurrentGame()).thenReturn(game);
+        when(session.getCardTracker()).thenReturn(new CardTracker());
         when(game.getCurrentRound()).thenReturn(round);
 
         HashSet<Card> availableCards = new HashSet<>();
@@ -272,4 +282,74 @@ public class FloJassStrategyTest {
         assertEquals(Card.CLUB_TEN, chosenCard);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void chooseTrumpf_randomHands_sameModeAsReference() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final ReferenceFloJassStrategy reference = new ReferenceFloJassStrategy();
+
+        for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+            final Set<Card> hand = LocalGame.deal(random).get(0);
+
+            assertEquals(hand.toString(), reference.chooseTrumpf(hand, null, false), sut.chooseTrumpf(hand, null, false));
+            assertEquals(hand.toString(), reference.chooseTrumpf(hand, null, true), sut.chooseTrumpf(hand, null, true));
+        }
+    }
+
+    @Test
+    public void chooseCard_randomGames_sameCardAsReference() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+
+        for (Mode mode : Mode.standardModes()) {
+            for (int i = 0; i < NUMBER_OF_GAMES_PER_MODE; i++) {
+                playGameComparingWithReference(mode, random);
+            }
+        }
+    }
+
+    /**
+     * Plays a game where every player asks both strategies for a card and then plays either that card or a random
+     * legal one. One of the players is the bot, whose stiche the strategies treat differently.
+     */
+    private void playGameComparingWithReference(Mode mode, SplittableRandom random) {
+        final List<Player> players = new ArrayList<>();
+        final int botSeat = random.nextInt(4);
+        for (int seat = 0; seat < 4; seat++) {
+            players.add(new Player(String.valueOf(seat), seat == botSeat ? Application.BOT_NAME : "Player " + seat, seat));
+        }
+        final List<Team> teams = asList(
+                new Team("Team 1", asList(players.get(0), players.get(2))),
+                new Team("Team 2", asList(players.get(1), players.get(3))));
+        final GameSession session = new GameSession(teams, players);
+        final List<Set<Card>> hands = LocalGame.deal(random);
+        for (int seat = 0; seat < 4; seat++) {
+            players.get(seat).setCards(new HashSet<>(hands.get(seat)));
+        }
+        final ReferenceFloJassStrategy reference = new ReferenceFloJassStrategy();
+        session.startNewGame(mode, false);
+        reference.onGameStarted(session);
+
+        for (int i = 0; i < Card.values().length; i++) {
+            final Round round = session.getCurrentRound();
+            final Player player = round.getPlayingOrder().getCurrentPlayer();
+            final Card expected = reference.chooseCard(player.getCards(), session);
+            assertEquals(mode + " " + round.getPlayedCards() + " " + player.getCards(), expected, sut.chooseCard(player.getCards(), session));
+
+            final Card card = random.nextBoolean() ? expected : pick(mode.legalMoves(player.getCardSet(), round.getPlayedCardSet(), round.getRoundColor()).mask(), random);
+            player.getCards().remove(card);
+            final Move move = new Move(player, card);
+            session.makeMove(move);
+            reference.onMoveMade(move, session);
+            if (round.getMoves().size() == 4 && !round.isLastRound()) {
+                session.startNextRound();
+            }
+        }
+    }
+
+    private static Card pick(long cards, SplittableRandom random) {
+        long remaining = cards;
+        for (int i = random.nextInt(CardSet.size(cards)); i > 0; i--) {
+            remaining = CardSet.removeFirst(remaining);
+        }
+        return CardSet.first(remaining);
+    }
+}
@@ -0,0 +1,128 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.GameResult;
+import com.zuehlke.jasschallenge.client.LocalGame;
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.GameSessionBuilder;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.client.game.Round;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IsmctsJassStrategyTest {
+
+    @Test
+    public void playGame_againstFloJassStrategy() {
+
+        final LocalGame localGame = new LocalGame(asList(
+                new IsmctsJassStrategy(1, new SplittableRandom(1)),
+                new FloJassStrategy(),
+                new IsmctsJassStrategy(1, new SplittableRandom(2)),
+                new FloJassStrategy()), 0, new SplittableRandom(3));
+
+        for (int i = 0; i < 4; i++) {
+            final GameResult result = localGame.playGame();
+            final int points = result.getTeamScore(0) + result.getTeamScore(1);
+
+            assertTrue(points == 157 * result.getMode().getFactor() || points == 257 * result.getMode().getFactor());
+        }
+    }
+
+    @Test
+    public void chooseCard_noDealMatchesPlayedCards_playsCardOfFallbackStrategy() {
+
+        final GameSession session = GameSessionBuilder.newSession().createGameSession();
+        session.startNewGame(Mode.topDown(), false);
+        for (Card card : asList(HEART_SIX, CLUB_SIX, DIAMOND_SIX, SPADE_SIX)) {
+            session.makeMove(new Move(session.getCurrentRound().getPlayingOrder().getCurrentPlayer(), card));
+        }
+        session.startNextRound();
+        // the other players could not follow hearts, but the hand holds only two of the hearts left
+        final Set<Card> hand = EnumSet.of(HEART_SEVEN, HEART_ACE, DIAMOND_EIGHT, DIAMOND_NINE, DIAMOND_KING, CLUB_JACK, CLUB_KING, CLUB_ACE);
+        final FallbackStrategy fallbackStrategy = new FallbackStrategy();
+
+        final Card card = new IsmctsJassStrategy(5, new SplittableRandom(4), fallbackStrategy).chooseCard(hand, session);
+
+        assertEquals(fallbackStrategy.chosenCard, card);
+    }
+
+    @Test
+    public void chooseCard_afterPondering_playsLegalCards() throws InterruptedException {
+
+        final IsmctsJassStrategy strategy = new IsmctsJassStrategy(5, new SplittableRandom(4));
+
+        playGame(strategy, 36, true);
+        strategy.onSessionFinished();
+    }
+
+    @Test
+    public void chooseCard_movesWereMissed_playsLegalCards() throws InterruptedException {
+
+        final IsmctsJassStrategy strategy = new IsmctsJassStrategy(1, new SplittableRandom(6));
+
+        playGame(strategy, 2, false);
+    }
+
+    /**
+     * Plays a game in which the strategy plays the cards of the second player and the other players play their first
+     * legal card. The strategy only sees the first moves.
+     */
+    private static void playGame(IsmctsJassStrategy strategy, int observedMoves, boolean ponder) throws InterruptedException {
+        final GameSession session = GameSessionBuilder.newSession().createGameSession();
+        final List<Player> players = session.getPlayersInPlayingOrder();
+        final List<Set<Card>> hands = LocalGame.deal(new SplittableRandom(5));
+        final Player player = players.get(1);
+        session.startNewGame(Mode.topDown(), false);
+        strategy.onGameStarted(session);
+
+        for (int i = 0; i < 36; i++) {
+            final Round round = session.getCurrentRound();
+            final Player currentPlayer = round.getPlayingOrder().getCurrentPlayer();
+            final Set<Card> hand = hands.get(players.indexOf(currentPlayer));
+            final long legalMoves = Mode.topDown().legalMoves(CardSet.maskOf(hand), round.getPlayedCardSet().mask(), round.getRoundColor());
+            final Card card = currentPlayer == player ? strategy.chooseCard(hand, session) : CardSet.first(legalMoves);
+            assertTrue(CardSet.contains(legalMoves, card));
+
+            hand.remove(card);
+            final Move move = new Move(currentPlayer, card);
+            session.makeMove(move);
+            if (i < observedMoves) {
+                strategy.onMoveMade(move, session);
+            }
+            if (ponder) {
+                strategy.ponder(hands.get(1), player, session);
+                Thread.sleep(2);
+            }
+            if (i % 4 == 3) {
+                session.startNextRound();
+            }
+        }
+        strategy.onGameFinished();
+    }
+
+    /**
+     * Remembers the card it chose.
+     */
+    private static class FallbackStrategy extends FloJassStrategy {
+        private Card chosenCard;
+
+        @Override
+        public Card chooseCard(Set<Card> availableCards, GameSession session) {
+            chosenCard = super.chooseCard(availableCards, session);
+            return chosenCard;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.GameResult;
+import com.zuehlke.jasschallenge.client.LocalGame;
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.GameSessionBuilder;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PimcJassStrategyTest {
+
+    @Test
+    public void playGame_againstFloJassStrategy() {
+
+        final LocalGame localGame = new LocalGame(asList(
+                new PimcJassStrategy(1, 1, new SplittableRandom(1)),
+                new FloJassStrategy(),
+                new PimcJassStrategy(1, 1, new SplittableRandom(2)),
+                new FloJassStrategy()), 0, new SplittableRandom(3));
+
+        for (int i = 0; i < 4; i++) {
+            final GameResult result = localGame.playGame();
+            final int points = result.getTeamScore(0) + result.getTeamScore(1);
+
+            assertTrue(points == 157 * result.getMode().getFactor() || points == 257 * result.getMode().getFactor());
+        }
+    }
+
+    @Test
+    public void chooseCard_noSampleMatchesPlayedCards_playsCardOfFallbackStrategy() {
+
+        final GameSession session = GameSessionBuilder.newSession().createGameSession();
+        session.startNewGame(Mode.topDown(), false);
+        for (Card card : asList(HEART_SIX, CLUB_SIX, DIAMOND_SIX, SPADE_SIX)) {
+            session.makeMove(new Move(session.getCurrentRound().getPlayingOrder().getCurrentPlayer(), card));
+        }
+        session.startNextRound();
+        // the other players could not follow hearts, but the hand holds only two of the hearts left
+        final Set<Card> hand = EnumSet.of(HEART_SEVEN, HEART_ACE, DIAMOND_EIGHT, DIAMOND_NINE, DIAMOND_KING, CLUB_JACK, CLUB_KING, CLUB_ACE);
+
+        final FallbackStrategy fallbackStrategy = new FallbackStrategy();
+
+        final Card card = new PimcJassStrategy(5, 2, new SplittableRandom(4), fallbackStrategy).chooseCard(hand, session);
+
+        assertEquals(fallbackStrategy.chosenCard, card);
+    }
+
+    /**
+     * Remembers the card it chose.
+     */
+    private static class FallbackStrategy extends FloJassStrategy {
+        private Card chosenCard;
+
+        @Override
+        public Card chooseCard(Set<Card> availableCards, GameSession session) {
+            chosenCard = super.chooseCard(availableCards, session);
+            return chosenCard;
+        }
+    }
+}
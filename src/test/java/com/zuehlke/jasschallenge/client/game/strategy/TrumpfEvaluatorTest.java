@@ -0,0 +1,64 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.*;
+
+public class TrumpfEvaluatorTest {
+
+    private static final long DEADLINE_MILLIS = 200;
+
+    @Test
+    public void evaluate_jackAndNineWithManyCards_bestTrumpfColor() {
+
+        final Set<Card> hand = EnumSet.of(SPADE_JACK, SPADE_NINE, SPADE_ACE, SPADE_TEN, SPADE_KING, SPADE_SIX, SPADE_QUEEN, HEART_SEVEN, DIAMOND_SEVEN);
+
+        final TrumpfEvaluation evaluation = evaluate(hand);
+
+        final double spadesPoints = evaluation.getExpectedPoints(Mode.from(Trumpf.TRUMPF, Color.SPADES));
+        for (Color color : EnumSet.of(Color.HEARTS, Color.DIAMONDS, Color.CLUBS)) {
+            assertTrue(spadesPoints > evaluation.getExpectedPoints(Mode.from(Trumpf.TRUMPF, color)));
+        }
+    }
+
+    @Test
+    public void evaluate_aces_topDownIsBest() {
+
+        final Set<Card> hand = EnumSet.of(HEART_ACE, HEART_KING, DIAMOND_ACE, DIAMOND_KING, CLUB_ACE, CLUB_KING, SPADE_ACE, SPADE_KING, SPADE_QUEEN);
+
+        final TrumpfEvaluation evaluation = evaluate(hand);
+
+        assertEquals(Mode.topDown(), evaluation.getBestMode(true));
+        assertTrue(evaluation.getExpectedPoints(Mode.topDown()) > evaluation.getExpectedPoints(Mode.bottomUp()));
+    }
+
+    @Test
+    public void evaluate_shiftNotPossible_choosesStandardMode() {
+
+        final Set<Card> hand = EnumSet.of(HEART_SIX, HEART_EIGHT, DIAMOND_SEVEN, DIAMOND_TEN, CLUB_SEVEN, CLUB_QUEEN, SPADE_SIX, SPADE_NINE, SPADE_KING);
+
+        final TrumpfEvaluation evaluation = evaluate(hand);
+
+        assertTrue(Mode.standardModes().contains(evaluation.getBestMode(false)));
+        assertTrue(evaluation.getNumberOfSamples() > 0);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void evaluate_incompleteHand() {
+
+        evaluate(EnumSet.of(HEART_SIX, HEART_EIGHT));
+    }
+
+    private static TrumpfEvaluation evaluate(Set<Card> hand) {
+        return new TrumpfEvaluator(2).evaluate(hand, System.nanoTime() + DEADLINE_MILLIS * 1_000_000, new SplittableRandom(1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.cards.CardCombinations;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class TrumpfTableGeneratorTest {
+
+    @Test
+    public void isCanonical_onlyOneHandOfSwappedColors() {
+
+        final long hand = 0b111L;
+        final long swappedHand = 0b111L << 27;
+
+        assertTrue(TrumpfTableGenerator.isCanonical(hand) ^ TrumpfTableGenerator.isCanonical(swappedHand));
+    }
+
+    @Test
+    public void generate_tableContainsEvaluatedHands() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(1));
+        final Path file = Files.createTempFile("trumpf", ".table");
+        file.toFile().deleteOnExit();
+
+        generator.generate(file, 3);
+        final TrumpfTable table = TrumpfTable.open(file);
+
+        final TrumpfTableGenerator.Progress progress = new TrumpfTableGenerator.Progress(0);
+        generator.evaluateHands(progress, 3, createCheckpointFile());
+        for (long entry : progress.getEntries()) {
+            final long hand = entry & CardSet.ALL_CARDS_MASK;
+            assertTrue(TrumpfTableGenerator.isCanonical(hand));
+            assertNotNull(table.chooseTrumpf(hand, true));
+            assertTrue(Mode.standardModes().contains(table.chooseTrumpf(hand, false)));
+        }
+    }
+
+    @Test
+    public void evaluateHands_savesCheckpointEveryIntervalHands() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(2), 2);
+        final Path checkpointFile = createCheckpointFile();
+        final TrumpfTableGenerator.Progress progress = new TrumpfTableGenerator.Progress(0);
+
+        generator.evaluateHands(progress, 3, checkpointFile);
+        final TrumpfTableGenerator.Progress checkpoint = TrumpfTableGenerator.readCheckpoint(checkpointFile);
+
+        final long[] entries = progress.getEntries();
+        assertArrayEquals(Arrays.copyOf(entries, 2), checkpoint.getEntries());
+        assertEquals(entries[1] & CardSet.ALL_CARDS_MASK, CardCombinations.unrank(checkpoint.getNextRank() - 1, 9));
+    }
+
+    @Test
+    public void generate_checkpointExists_continuesAfterCheckpoint() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(3));
+        final Path file = Files.createTempFile("trumpf", ".table");
+        file.toFile().deleteOnExit();
+        final Path checkpointFile = file.resolveSibling(file.getFileName() + TrumpfTableGenerator.CHECKPOINT_SUFFIX);
+        checkpointFile.toFile().deleteOnExit();
+        final TrumpfTableGenerator.Progress evaluated = new TrumpfTableGenerator.Progress(0);
+        generator.evaluateHands(evaluated, 1, createCheckpointFile());
+        final long firstHand = evaluated.getEntries()[0] & CardSet.ALL_CARDS_MASK;
+        final TrumpfTableGenerator.Progress checkpoint = new TrumpfTableGenerator.Progress(evaluated.getNextRank());
+        checkpoint.add(TrumpfTable.createEntry(firstHand, Mode.bottomUp(), Mode.bottomUp(), 12345));
+        TrumpfTableGenerator.writeCheckpoint(checkpointFile, checkpoint);
+
+        generator.generate(file, 2);
+        final TrumpfTable table = TrumpfTable.open(file);
+
+        assertEquals(12345, table.getExpectedPoints(firstHand));
+        generator.evaluateHands(evaluated, 2, createCheckpointFile());
+        assertTrue(table.getExpectedPoints(evaluated.getEntries()[1] & CardSet.ALL_CARDS_MASK) >= 0);
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    public void evaluateHands_checkpointAfterEveryHand_writesEveryEntryOnce() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(4), 1);
+        final Path checkpointFile = createCheckpointFile();
+        final TrumpfTableGenerator.Progress progress = new TrumpfTableGenerator.Progress(0);
+
+        generator.evaluateHands(progress, 3, checkpointFile);
+
+        // the magic number, then per hand a block of the next rank, the number of entries and the entry
+        assertEquals(Integer.BYTES + 3 * (Long.BYTES + Integer.BYTES + Long.BYTES), Files.size(checkpointFile));
+        assertArrayEquals(progress.getEntries(), TrumpfTableGenerator.readCheckpoint(checkpointFile).getEntries());
+    }
+
+    @Test
+    public void readCheckpoint_incompleteLastBlock_cutsItOff() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(5), 1);
+        final Path checkpointFile = createCheckpointFile();
+        final TrumpfTableGenerator.Progress progress = new TrumpfTableGenerator.Progress(0);
+        generator.evaluateHands(progress, 2, checkpointFile);
+        final long completeSize = Files.size(checkpointFile);
+        Files.write(checkpointFile, new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        final TrumpfTableGenerator.Progress checkpoint = TrumpfTableGenerator.readCheckpoint(checkpointFile);
+
+        assertArrayEquals(progress.getEntries(), checkpoint.getEntries());
+        assertEquals(progress.getNextRank(), checkpoint.getNextRank());
+        assertEquals(completeSize, Files.size(checkpointFile));
+    }
+
+    @Test
+    public void evaluateHands_fromRank_walksCanonicalHandsInColexOrder() throws IOException {
+
+        final TrumpfTableGenerator generator = new TrumpfTableGenerator(new TrumpfEvaluator(1), 1, new SplittableRandom(6));
+        final TrumpfTableGenerator.Progress progress = new TrumpfTableGenerator.Progress(1000);
+
+        generator.evaluateHands(progress, 2, createCheckpointFile());
+
+        final long[] entries = progress.getEntries();
+        final long firstRank = CardCombinations.rank(entries[0] & CardSet.ALL_CARDS_MASK);
+        final long secondRank = CardCombinations.rank(entries[1] & CardSet.ALL_CARDS_MASK);
+        assertEquals(progress.getNextRank() - 1, secondRank);
+        for (long rank = 1000; rank < secondRank; rank++) {
+            assertEquals(rank == firstRank, TrumpfTableGenerator.isCanonical(CardCombinations.unrank(rank, 9)));
+        }
+    }
+
+    private static Path createCheckpointFile() throws IOException {
+        final Path file = Files.createTempFile("trumpf", TrumpfTableGenerator.CHECKPOINT_SUFFIX);
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
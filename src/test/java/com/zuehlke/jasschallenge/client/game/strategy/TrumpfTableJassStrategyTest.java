@@ -0,0 +1,83 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.GameSessionBuilder;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TrumpfTableJassStrategyTest {
+
+    private static final Set<Card> HAND = EnumSet.of(HEART_SIX, HEART_SEVEN, DIAMOND_SIX, DIAMOND_SEVEN, CLUB_SIX, CLUB_SEVEN, SPADE_SIX, SPADE_SEVEN, SPADE_EIGHT);
+
+    @Test
+    public void chooseTrumpf_handInTable_modeOfTable() throws IOException {
+
+        final TrumpfTableJassStrategy strategy = new TrumpfTableJassStrategy(createTable(HAND, Mode.bottomUp()), new FloJassStrategy());
+
+        assertEquals(Mode.bottomUp(), strategy.chooseTrumpf(HAND, null, false));
+    }
+
+    @Test
+    public void chooseTrumpf_handNotInTable_modeOfStrategy() throws IOException {
+
+        final Set<Card> otherHand = EnumSet.of(HEART_ACE, HEART_KING, DIAMOND_ACE, DIAMOND_KING, CLUB_ACE, CLUB_KING, SPADE_ACE, SPADE_KING, SPADE_QUEEN);
+        final TrumpfTableJassStrategy strategy = new TrumpfTableJassStrategy(createTable(HAND, Mode.bottomUp()), new FloJassStrategy());
+
+        assertEquals(new FloJassStrategy().chooseTrumpf(otherHand, null, false), strategy.chooseTrumpf(otherHand, null, false));
+    }
+
+    @Test
+    public void ponder_isForwardedToStrategy() throws IOException {
+
+        final GameSession session = GameSessionBuilder.newSession().withStartedGame(Mode.topDown()).createGameSession();
+        final Player player = session.getPlayersInPlayingOrder().get(0);
+        final PonderingStrategy ponderingStrategy = new PonderingStrategy();
+        final TrumpfTableJassStrategy strategy = new TrumpfTableJassStrategy(createTable(HAND, Mode.bottomUp()), ponderingStrategy);
+
+        strategy.ponder(HAND, player, session);
+
+        assertEquals(HAND, ponderingStrategy.availableCards);
+        assertSame(player, ponderingStrategy.player);
+        assertSame(session, ponderingStrategy.session);
+    }
+
+    private static TrumpfTable createTable(Set<Card> hand, Mode mode) throws IOException {
+        final long mask = CardSet.maskOf(hand);
+        final long canonicalHand = ColorPermutation.canonical(mask).apply(mask);
+
+        final Path file = Files.createTempFile("trumpf", ".table");
+        file.toFile().deleteOnExit();
+        TrumpfTable.write(file, new long[]{TrumpfTable.createEntry(canonicalHand, mode, mode, 100)});
+        return TrumpfTable.open(file);
+    }
+
+    /**
+     * Remembers the arguments of the last call of {@link #ponder}.
+     */
+    private static class PonderingStrategy extends FloJassStrategy {
+        private Set<Card> availableCards;
+        private Player player;
+        private GameSession session;
+
+        @Override
+        public void ponder(Set<Card> availableCards, Player player, GameSession session) {
+            this.availableCards = availableCards;
+            this.player = player;
+            this.session = session;
+        }
+    }
+}
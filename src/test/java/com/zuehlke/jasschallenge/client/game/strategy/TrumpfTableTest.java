@@ -0,0 +1,70 @@
+package com.zuehlke.jasschallenge.client.game.strategy;
+
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.*;
+
+public class TrumpfTableTest {
+
+    private static final long HAND = CardSet.of(HEART_JACK, HEART_NINE, HEART_ACE, HEART_SIX, DIAMOND_KING, CLUB_SEVEN, CLUB_EIGHT, SPADE_TEN, SPADE_SIX).mask();
+    private static final long SWAPPED_HAND = CardSet.of(CLUB_JACK, CLUB_NINE, CLUB_ACE, CLUB_SIX, SPADE_KING, HEART_SEVEN, HEART_EIGHT, DIAMOND_TEN, DIAMOND_SIX).mask();
+
+    @Test
+    public void chooseTrumpf_handWithSwappedColors_trumpfColorIsSwapped() throws IOException {
+
+        final TrumpfTable table = createTable(Mode.from(Trumpf.TRUMPF, Color.HEARTS), Mode.topDown(), 120);
+
+        assertEquals(Mode.from(Trumpf.TRUMPF, Color.HEARTS), table.chooseTrumpf(HAND, true));
+        assertEquals(Mode.from(Trumpf.TRUMPF, Color.CLUBS), table.chooseTrumpf(SWAPPED_HAND, true));
+        assertEquals(120, table.getExpectedPoints(SWAPPED_HAND));
+    }
+
+    @Test
+    public void chooseTrumpf_shiftNotPossible_bestStandardMode() throws IOException {
+
+        final TrumpfTable table = createTable(Mode.shift(), Mode.bottomUp(), 80);
+
+        assertEquals(Mode.shift(), table.chooseTrumpf(HAND, true));
+        assertEquals(Mode.bottomUp(), table.chooseTrumpf(HAND, false));
+    }
+
+    @Test
+    public void chooseTrumpf_handNotInTable_null() throws IOException {
+
+        final TrumpfTable table = createTable(Mode.topDown(), Mode.topDown(), 100);
+        final long otherHand = CardSet.of(HEART_SIX, HEART_SEVEN, HEART_EIGHT, HEART_NINE, HEART_TEN, HEART_JACK, HEART_QUEEN, HEART_KING, HEART_ACE).mask();
+
+        assertNull(table.chooseTrumpf(otherHand, true));
+        assertEquals(-1, table.getExpectedPoints(otherHand));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void open_otherFile() throws IOException {
+
+        final Path file = Files.createTempFile("trumpf", ".table");
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        TrumpfTable.open(file);
+    }
+
+    private static TrumpfTable createTable(Mode bestMode, Mode bestStandardMode, int points) throws IOException {
+        final ColorPermutation permutation = ColorPermutation.canonical(HAND);
+        final long entry = TrumpfTable.createEntry(permutation.apply(HAND), bestMode.permuteColors(permutation), bestStandardMode.permuteColors(permutation), points);
+
+        final Path file = Files.createTempFile("trumpf", ".table");
+        file.toFile().deleteOnExit();
+        TrumpfTable.write(file, new long[]{entry});
+        return TrumpfTable.open(file);
+    }
+}
@@ -11,6 +11,7 @@ import com.zuehlke.jasschallenge.messages.responses.ChooseSession;
 import com.zuehlke.jasschallenge.messages.responses.ChooseTrumpf;
 import com.zuehlke.jasschallenge.messages.type.*;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import java.util.Collections;
 import java.util.List;
@@ -173,6 +174,45 @@ public class GameHandlerTest {
         verify(session).makeMove(argThat(sameBeanAs(new Move(new Player("Player 1"), Card.CLUB_KING))));
     }
 
+    @Test
+    public void onPlayedCards_informsPlayerOfMoveAndThenPonders() {
+
+        final Player localPlayer = mock(Player.class);
+        final GameSession session = GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.topDown())
+                .createGameSession();
+        final GameHandler handler = new GameHandler(localPlayer, session);
+        final InOrder inOrder = inOrder(localPlayer);
+
+        handler.onPlayedCards(singletonList(new RemoteCard(13, CLUBS)));
+        handler.onPlayedCards(asList(new RemoteCard(13, CLUBS), new RemoteCard(10, CLUBS)));
+        handler.onPlayedCards(asList(new RemoteCard(13, CLUBS), new RemoteCard(10, CLUBS), new RemoteCard(6, CLUBS)));
+        handler.onPlayedCards(asList(new RemoteCard(13, CLUBS), new RemoteCard(10, CLUBS), new RemoteCard(6, CLUBS), new RemoteCard(14, CLUBS)));
+
+        for (Card card : asList(Card.CLUB_KING, Card.CLUB_TEN, Card.CLUB_SIX, Card.CLUB_ACE)) {
+            inOrder.verify(localPlayer).onMoveMade(argThat(match((Move move) -> move.getPlayedCard() == card, card.toString())), eq(session));
+            inOrder.verify(localPlayer).ponder(session);
+        }
+    }
+
+    @Test
+    public void onPlayedCards_waitsForLateDecisionBeforeChangingSession() {
+
+        final Player localPlayer = mock(Player.class);
+        final GameSession session = spy(GameSessionBuilder
+                .newSession()
+                .withStartedGame(Mode.topDown())
+                .createGameSession());
+        final GameHandler handler = new GameHandler(localPlayer, session);
+        final InOrder inOrder = inOrder(localPlayer, session);
+
+        handler.onPlayedCards(singletonList(new RemoteCard(13, CLUBS)));
+
+        inOrder.verify(localPlayer).awaitLateDecision();
+        inOrder.verify(session).makeMove(any(Move.class));
+    }
+
     @Test
     public void onPlayedCards_roundIsUpdated() {
 
@@ -0,0 +1,91 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.assertEquals;
+
+public class CardCombinationsTest {
+
+    @Test
+    public void binomial_numberOfHands() {
+
+        assertEquals(94_143_280L, CardCombinations.binomial(36, 9));
+        assertEquals(1L, CardCombinations.binomial(36, 0));
+        assertEquals(0L, CardCombinations.binomial(8, 9));
+    }
+
+    @Test
+    public void rank_firstAndLastHand() {
+
+        assertEquals(0L, CardCombinations.rank((1L << 9) - 1));
+        assertEquals(CardCombinations.binomial(36, 9) - 1, CardCombinations.rank(CardSet.ALL_CARDS_MASK & ~((1L << 27) - 1)));
+    }
+
+    @Test
+    public void unrank_allRanks_inverseOfRank() {
+
+        for (long rank = 0; rank < CardCombinations.binomial(36, 3); rank++) {
+            final long cards = CardCombinations.unrank(rank, 3);
+
+            assertEquals(3, CardSet.size(cards));
+            assertEquals(rank, CardCombinations.rank(cards));
+        }
+    }
+
+    @Test
+    public void next_sameAsNextRank() {
+
+        long cards = (1L << 4) - 1;
+        for (long rank = 0; rank < 5000; rank++) {
+            assertEquals(CardCombinations.unrank(rank, 4), cards);
+            cards = CardCombinations.next(cards);
+        }
+    }
+
+    @Test
+    public void next_visitsEverySetOnce() {
+
+        int numberOfSets = 0;
+        for (long cards = 0b111; cards < 1L << 10; cards = CardCombinations.next(cards)) {
+            assertEquals(3, CardSet.size(cards));
+            numberOfSets++;
+        }
+
+        assertEquals(120, numberOfSets);
+    }
+
+    @Test
+    public void rank_availableCards_ranksWithinAvailableCards() {
+
+        final long availableCards = CardSet.of(HEART_SIX, DIAMOND_SEVEN, CLUB_EIGHT, SPADE_NINE, SPADE_ACE).mask();
+
+        assertEquals(0L, CardCombinations.rank(CardSet.of(HEART_SIX, DIAMOND_SEVEN).mask(), availableCards));
+        assertEquals(9L, CardCombinations.rank(CardSet.of(SPADE_NINE, SPADE_ACE).mask(), availableCards));
+    }
+
+    @Test
+    public void unrank_availableCards_inverseOfRank() {
+
+        final SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 100; i++) {
+            final long availableCards = random.nextLong() & CardSet.ALL_CARDS_MASK;
+            final int numberOfCards = random.nextInt(Long.bitCount(availableCards) + 1);
+            final long rank = random.nextLong(CardCombinations.binomial(Long.bitCount(availableCards), numberOfCards));
+
+            final long cards = CardCombinations.unrank(rank, numberOfCards, availableCards);
+
+            assertEquals(0L, cards & ~availableCards);
+            assertEquals(numberOfCards, CardSet.size(cards));
+            assertEquals(rank, CardCombinations.rank(cards, availableCards));
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void unrank_rankTooLarge() {
+
+        CardCombinations.unrank(CardCombinations.binomial(36, 2), 2);
+    }
+}
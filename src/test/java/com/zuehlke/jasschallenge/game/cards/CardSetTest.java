@@ -0,0 +1,88 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.*;
+
+public class CardSetTest {
+
+    @Test
+    public void all_containsEveryCard() {
+
+        assertEquals(36, CardSet.ALL.size());
+        assertEquals(EnumSet.allOf(Card.class), CardSet.ALL.toSet());
+    }
+
+    @Test
+    public void mask_usesOrdinalOfCard() {
+
+        assertEquals(1L, CardSet.mask(HEART_SIX));
+        assertEquals(1L << 35, CardSet.mask(SPADE_ACE));
+    }
+
+    @Test
+    public void colorMask_containsAllCardsOfColor() {
+
+        for (Color color : Color.values()) {
+            final CardSet cards = CardSet.of(CardSet.colorMask(color));
+
+            assertEquals(9, cards.size());
+            cards.forEach(card -> assertEquals(color, card.getColor()));
+        }
+    }
+
+    @Test
+    public void card_byColorAndValue() {
+
+        assertEquals(CLUB_JACK, CardSet.card(Color.CLUBS, CardValue.JACK));
+        assertEquals(DIAMOND_SIX, CardSet.card(Color.DIAMONDS, CardValue.SIX));
+    }
+
+    @Test
+    public void from_collection_containsSameCards() {
+
+        final EnumSet<Card> cards = EnumSet.of(HEART_ACE, CLUB_SEVEN, SPADE_TEN);
+
+        assertThat(CardSet.from(cards).toSet(), equalTo(cards));
+    }
+
+    @Test
+    public void iterator_returnsCardsInOrdinalOrder() {
+
+        final List<Card> cards = new ArrayList<>();
+        CardSet.of(SPADE_ACE, HEART_SEVEN, DIAMOND_KING).forEach(cards::add);
+
+        assertThat(cards, contains(HEART_SEVEN, DIAMOND_KING, SPADE_ACE));
+    }
+
+    @Test
+    public void withAndWithout() {
+
+        final CardSet cards = CardSet.of(HEART_ACE).with(CLUB_SIX).without(HEART_ACE);
+
+        assertEquals(CardSet.of(CLUB_SIX), cards);
+        assertFalse(cards.contains(HEART_ACE));
+    }
+
+    @Test
+    public void ofColor_keepsOnlyCardsOfColor() {
+
+        final CardSet cards = CardSet.of(HEART_ACE, HEART_SIX, CLUB_SIX);
+
+        assertEquals(CardSet.of(HEART_ACE, HEART_SIX), cards.ofColor(Color.HEARTS));
+        assertFalse(cards.hasColor(Color.SPADES));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_invalidMask() {
+
+        CardSet.of(1L << 36);
+    }
+}
@@ -0,0 +1,67 @@
+package com.zuehlke.jasschallenge.game.cards;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.*;
+
+public class ColorPermutationTest {
+
+    @Test
+    public void canonical_handsWithSwappedColors_haveSameCanonicalForm() {
+
+        final long hand = CardSet.of(HEART_ACE, HEART_SIX, CLUB_KING, SPADE_SEVEN).mask();
+        final long swapped = CardSet.of(SPADE_ACE, SPADE_SIX, DIAMOND_KING, CLUB_SEVEN).mask();
+
+        assertEquals(ColorPermutation.canonical(hand).apply(hand), ColorPermutation.canonical(swapped).apply(swapped));
+    }
+
+    @Test
+    public void canonical_fixedColor_isNotSwapped() {
+
+        final long hand = CardSet.of(HEART_SIX, SPADE_ACE, SPADE_KING, CLUB_JACK).mask();
+
+        final ColorPermutation permutation = ColorPermutation.canonical(hand, 0L, Color.HEARTS);
+
+        assertEquals(Color.HEARTS, permutation.apply(Color.HEARTS));
+        assertEquals(HEART_SIX, permutation.apply(HEART_SIX));
+    }
+
+    @Test
+    public void canonical_sameHand_playedCardsDecide() {
+
+        final long hand = CardSet.of(HEART_ACE, DIAMOND_ACE).mask();
+        final long played = CardSet.of(HEART_KING).mask();
+        final long swappedPlayed = CardSet.of(DIAMOND_KING).mask();
+
+        final ColorPermutation permutation = ColorPermutation.canonical(hand, played, null);
+        final ColorPermutation swappedPermutation = ColorPermutation.canonical(hand, swappedPlayed, null);
+
+        assertEquals(permutation.apply(played), swappedPermutation.apply(swappedPlayed));
+        assertEquals(permutation.apply(hand), swappedPermutation.apply(hand));
+    }
+
+    @Test
+    public void inverse_restoresCards() {
+
+        final SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 100; i++) {
+            final long cards = random.nextLong() & CardSet.ALL_CARDS_MASK;
+            final ColorPermutation permutation = ColorPermutation.canonical(cards);
+
+            assertEquals(CardSet.size(cards), CardSet.size(permutation.apply(cards)));
+            assertEquals(cards, permutation.inverse().apply(permutation.apply(cards)));
+            assertEquals(permutation, permutation.inverse().inverse());
+        }
+    }
+
+    @Test
+    public void identity_keepsCards() {
+
+        assertEquals(CLUB_NINE, ColorPermutation.identity().apply(CLUB_NINE));
+        assertEquals(CardSet.ALL_CARDS_MASK, ColorPermutation.identity().apply(CardSet.ALL_CARDS_MASK));
+        assertTrue(ColorPermutation.canonical(CardSet.ALL_CARDS_MASK).isIdentity());
+    }
+}
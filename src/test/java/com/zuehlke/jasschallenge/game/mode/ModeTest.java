@@ -0,0 +1,120 @@
+package com.zuehlke.jasschallenge.game.mode;
+
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.cards.ColorPermutation;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ModeTest {
+
+    @Test
+    public void from_returnsTheSameInstanceForTheSameMode() {
+
+        assertThat(Mode.from(Trumpf.OBEABE, null), sameInstance(Mode.topDown()));
+        assertThat(Mode.from(Trumpf.UNDEUFE, null), sameInstance(Mode.bottomUp()));
+        assertThat(Mode.from(Trumpf.SCHIEBE, null), sameInstance(Mode.shift()));
+        assertThat(Mode.from(Trumpf.TRUMPF, Color.CLUBS), sameInstance(Mode.trump(Color.CLUBS)));
+    }
+
+    @Test
+    public void allModes_areOrderedByOrdinal() {
+
+        final List<Mode> modes = Mode.allModes();
+
+        assertThat(modes.size(), equalTo(Mode.NUMBER_OF_MODES));
+        for (int ordinal = 0; ordinal < modes.size(); ordinal++) {
+            assertThat(modes.get(ordinal).getOrdinal(), equalTo(ordinal));
+            assertThat(Mode.fromOrdinal(ordinal), sameInstance(modes.get(ordinal)));
+        }
+    }
+
+    @Test
+    public void standardModes_doesNotContainShift() {
+
+        assertThat(Mode.standardModes().size(), equalTo(6));
+        assertThat(Mode.standardModes().contains(Mode.shift()), equalTo(false));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void standardModes_cannotBeModified() {
+
+        Mode.standardModes().add(Mode.shift());
+    }
+
+    @Test
+    public void distinctLegalMoves_adjacentCardsWithSameScore_keepsOneCard() {
+
+        final long hand = CardSet.of(HEART_SIX, HEART_SEVEN, CLUB_ACE).mask();
+
+        final long moves = Mode.topDown().distinctLegalMoves(hand, 0L, null, 0L);
+
+        assertThat(CardSet.of(moves), equalTo(CardSet.of(HEART_SEVEN, CLUB_ACE)));
+    }
+
+    @Test
+    public void distinctLegalMoves_differentScores_keepsBothCards() {
+
+        final long hand = CardSet.of(HEART_KING, HEART_QUEEN).mask();
+        final long played = CardSet.of(HEART_ACE).mask();
+
+        final long moves = Mode.topDown().distinctLegalMoves(hand, 0L, null, played);
+
+        assertThat(CardSet.of(moves), equalTo(CardSet.of(HEART_KING, HEART_QUEEN)));
+    }
+
+    @Test
+    public void distinctLegalMoves_cardBetweenWasPlayed_keepsOneCard() {
+
+        final long hand = CardSet.of(SPADE_SIX, SPADE_EIGHT).mask();
+        final long played = CardSet.of(SPADE_SEVEN).mask();
+
+        final long moves = Mode.trump(Color.HEARTS).distinctLegalMoves(hand, 0L, null, played);
+
+        assertThat(CardSet.of(moves), equalTo(CardSet.of(SPADE_EIGHT)));
+    }
+
+    @Test
+    public void distinctLegalMoves_cardBetweenIsInCurrentRound_keepsBothCards() {
+
+        final long hand = CardSet.of(SPADE_SIX, SPADE_EIGHT).mask();
+        final long roundCards = CardSet.of(SPADE_SEVEN).mask();
+
+        final long moves = Mode.trump(Color.HEARTS).distinctLegalMoves(hand, roundCards, Color.SPADES, roundCards);
+
+        assertThat(CardSet.of(moves), equalTo(CardSet.of(SPADE_SIX, SPADE_EIGHT)));
+    }
+
+    @Test
+    public void distinctLegalMoves_bottomUp_usesReversedRanks() {
+
+        final long hand = CardSet.of(DIAMOND_NINE, DIAMOND_SEVEN).mask();
+        final long played = CardSet.of(DIAMOND_EIGHT).mask();
+
+        final long moves = Mode.bottomUp().distinctLegalMoves(hand, 0L, null, played);
+
+        assertThat(CardSet.size(moves), equalTo(1));
+    }
+
+    @Test
+    public void distinctLegalMoves_shift_keepsAllLegalMoves() {
+
+        assertThat(Mode.shift().distinctLegalMoves(CardSet.ALL_CARDS_MASK, 0L, null, 0L), equalTo(0L));
+    }
+
+    @Test
+    public void permuteColors_mapsTrumpfColorOnly() {
+
+        final ColorPermutation permutation = ColorPermutation.canonical(CardSet.of(SPADE_ACE).mask());
+
+        assertThat(Mode.trump(Color.SPADES).permuteColors(permutation), sameInstance(Mode.trump(permutation.apply(Color.SPADES))));
+        assertThat(Mode.topDown().permuteColors(permutation), sameInstance(Mode.topDown()));
+    }
+}
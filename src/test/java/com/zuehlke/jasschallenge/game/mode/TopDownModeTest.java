@@ -5,6 +5,7 @@ import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.client.game.Move;
 import com.zuehlke.jasschallenge.client.game.Player;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import org.junit.Test;
 import org.junit.contrib.theories.Theories;
@@ -143,6 +144,26 @@ public class TopDownModeTest {
         assertTrue(canCardBePlayed);
     }
 
+    @Test
+    public void legalMoves_playerHasCardsOfRoundColor_onlyRoundColorIsAllowed() {
+
+        final CardSet playerCards = CardSet.of(HEART_EIGHT, HEART_NINE, CLUB_ACE);
+
+        final CardSet legalMoves = Mode.topDown().legalMoves(playerCards, CardSet.of(HEART_SIX), HEARTS);
+
+        assertThat(legalMoves, equalTo(CardSet.of(HEART_EIGHT, HEART_NINE)));
+    }
+
+    @Test
+    public void legalMoves_playerHasNoCardOfRoundColor_everyCardIsAllowed() {
+
+        final CardSet playerCards = CardSet.of(HEART_EIGHT, CLUB_ACE);
+
+        final CardSet legalMoves = Mode.topDown().legalMoves(playerCards, CardSet.of(DIAMOND_SIX), Color.DIAMONDS);
+
+        assertThat(legalMoves, equalTo(playerCards));
+    }
+
     @Test
     public void determineWinner_noMovesWereMade_returnsNull() {
 
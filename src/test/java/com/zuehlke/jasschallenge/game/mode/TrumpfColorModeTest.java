@@ -5,6 +5,7 @@ import com.zuehlke.jasschallenge.client.game.Game;
 import com.zuehlke.jasschallenge.client.game.Move;
 import com.zuehlke.jasschallenge.client.game.Player;
 import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
 import com.zuehlke.jasschallenge.game.cards.Color;
 import org.junit.Test;
 import org.junit.contrib.theories.Theories;
@@ -85,6 +86,17 @@ public class TrumpfColorModeTest {
         assertThat(score, equalTo((3+10)*2));
     }
 
+    @Test
+    public void getCardScore_trumpfJackAndNineHaveSpecialScores() {
+
+        final Mode mode = Mode.trump(HEARTS);
+
+        assertThat(mode.getCardScore(HEART_JACK), equalTo(20 * mode.getFactor()));
+        assertThat(mode.getCardScore(HEART_NINE), equalTo(14 * mode.getFactor()));
+        assertThat(mode.getCardScore(CLUB_JACK), equalTo(2 * mode.getFactor()));
+        assertThat(mode.getCardScore(CLUB_EIGHT), equalTo(0));
+    }
+
     @Test
     public void determineWinner_noMovesWereMade_returnsNull() {
 
@@ -174,6 +186,16 @@ public class TrumpfColorModeTest {
         assertThat(winner, equalTo(playerB));
     }
 
+    @Test
+    public void getCardStrength_trumpfBeatsRoundColorAndOtherColorsCannotWin() {
+
+        final Mode mode = Mode.trump(HEARTS);
+
+        assertTrue(mode.getCardStrength(HEART_SIX, CLUBS) > mode.getCardStrength(CLUB_ACE, CLUBS));
+        assertTrue(mode.getCardStrength(HEART_JACK, CLUBS) > mode.getCardStrength(HEART_NINE, CLUBS));
+        assertEquals(0, mode.getCardStrength(SPADE_ACE, CLUBS));
+    }
+
     @Theory
     public void canPlayCard_whenNoCardIsPlayed_everyCardIsAllowed(
             @ForAll Card cardToPlay) {
@@ -236,6 +258,57 @@ public class TrumpfColorModeTest {
         assertFalse(canCardBePlayed);
     }
 
+    @Test
+    public void canPlayCard_withCardSets_underTrumpfIsNotAllowed() {
+
+        final CardSet alreadyPlayedCards = CardSet.of(DIAMOND_SIX, HEART_SIX, HEART_EIGHT);
+        final CardSet playerCards = CardSet.of(HEART_ACE, DIAMOND_JACK, HEART_SEVEN);
+
+        assertFalse(Mode.trump(HEARTS).canPlayCard(HEART_SEVEN, alreadyPlayedCards, Color.DIAMONDS, playerCards));
+        assertTrue(Mode.trump(HEARTS).canPlayCard(HEART_ACE, alreadyPlayedCards, Color.DIAMONDS, playerCards));
+    }
+
+    @Test
+    public void legalMoves_underTrumpfIsNotAllowed() {
+
+        final CardSet alreadyPlayedCards = CardSet.of(DIAMOND_SIX, HEART_NINE);
+        final CardSet playerCards = CardSet.of(HEART_JACK, HEART_ACE, DIAMOND_QUEEN, CLUB_SIX);
+
+        final CardSet legalMoves = Mode.trump(HEARTS).legalMoves(playerCards, alreadyPlayedCards, DIAMONDS);
+
+        assertThat(legalMoves, equalTo(CardSet.of(HEART_JACK, DIAMOND_QUEEN)));
+    }
+
+    @Test
+    public void legalMoves_withOnlyJackOfTrumpfColor_everyCardIsAllowed() {
+
+        final CardSet playerCards = CardSet.of(CLUB_JACK, HEART_SEVEN, SPADE_ACE);
+
+        final CardSet legalMoves = Mode.trump(CLUBS).legalMoves(playerCards, CardSet.of(CLUB_SEVEN), CLUBS);
+
+        assertThat(legalMoves, equalTo(playerCards));
+    }
+
+    @Theory
+    public void legalMoves_containsExactlyThePlayableCards(
+            @ForAll(sampleSize = 10) Card playedCard,
+            @ForAll(sampleSize = 10) Card firstCard,
+            @ForAll(sampleSize = 10) Card secondCard) {
+
+        assumeThat(playedCard, not(equalTo(firstCard)));
+        assumeThat(playedCard, not(equalTo(secondCard)));
+
+        final Set<Card> alreadyPlayedCards = EnumSet.of(playedCard);
+        final Set<Card> playerCards = EnumSet.of(firstCard, secondCard, SPADE_SIX.equals(playedCard) ? SPADE_SEVEN : SPADE_SIX);
+        final Mode mode = Mode.trump(CLUBS);
+
+        final CardSet legalMoves = mode.legalMoves(CardSet.from(playerCards), CardSet.from(alreadyPlayedCards), playedCard.getColor());
+
+        for (Card card : playerCards) {
+            assertEquals(mode.canPlayCard(card, alreadyPlayedCards, playedCard.getColor(), playerCards), legalMoves.contains(card));
+        }
+    }
+
     @Test
     public void canPlayCard_withOnlyJackOfTrumpfColor() {
 
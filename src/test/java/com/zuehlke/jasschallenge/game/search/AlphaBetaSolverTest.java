@@ -0,0 +1,103 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class AlphaBetaSolverTest {
+
+    @Test
+    public void solve_finishedGame_scoreDifference() {
+
+        final GameState state = playRandomly(createState(Mode.topDown(), 1), 36, new SplittableRandom(1));
+
+        final int value = new AlphaBetaSolver().solve(state);
+
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        assertEquals(state.getTeamScore(team) - state.getTeamScore(1 - team), value);
+    }
+
+    @Test
+    public void solve_endgames_sameAsMinimax() {
+
+        final SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 60; i++) {
+            final Mode mode = Mode.standardModes().get(i % 6);
+            final GameState state = playRandomly(createState(mode, random.nextLong()), 25 + random.nextInt(3), random);
+
+            assertEquals(minimax(state), new AlphaBetaSolver().solve(state));
+        }
+    }
+
+    @Test
+    public void solveMove_bestMoveHasValueOfState() {
+
+        final SplittableRandom random = new SplittableRandom(3);
+        final GameState state = playRandomly(createState(Mode.bottomUp(), 3), 22, random);
+        final AlphaBetaSolver solver = new AlphaBetaSolver();
+
+        int best = -Integer.MAX_VALUE;
+        for (long moves = state.legalMoves(); moves != 0L; moves &= moves - 1) {
+            best = Math.max(best, solver.solveMove(state, Long.numberOfTrailingZeros(moves), GameState.NUMBER_OF_ROUNDS));
+        }
+
+        assertEquals(solver.solve(state), best);
+    }
+
+    @Test
+    public void solve_limitedToOneRound_valueOfCurrentScores() {
+
+        final GameState state = playRandomly(createState(Mode.topDown(), 4), 8, new SplittableRandom(4));
+        final int team = GameState.getTeam(state.getCurrentSeat());
+
+        final int value = new AlphaBetaSolver().solve(state, 0);
+
+        assertEquals(state.getTeamScore(team) - state.getTeamScore(1 - team), value);
+    }
+
+    private static int minimax(GameState state) {
+        final int team = GameState.getTeam(state.getCurrentSeat());
+        if (state.isFinished()) return state.getTeamScore(team) - state.getTeamScore(1 - team);
+
+        int best = -Integer.MAX_VALUE;
+        for (long moves = state.legalMoves(); moves != 0L; moves &= moves - 1) {
+            state.makeMove(Long.numberOfTrailingZeros(moves));
+            final int value = minimax(state);
+            best = Math.max(best, team == GameState.getTeam(state.getCurrentSeat()) ? value : -value);
+            state.unmakeMove();
+        }
+        return best;
+    }
+
+    static GameState createState(Mode mode, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final Card[] deck = Card.values();
+        for (int i = deck.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Card card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+        final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+        for (int i = 0; i < deck.length; i++) {
+            hands[i % GameState.NUMBER_OF_PLAYERS] |= CardSet.mask(deck[i]);
+        }
+        return new GameState(mode, hands, 0);
+    }
+
+    static GameState playRandomly(GameState state, int numberOfMoves, SplittableRandom random) {
+        for (int i = 0; i < numberOfMoves; i++) {
+            long moves = state.legalMoves();
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+                moves &= moves - 1;
+            }
+            state.makeMove(Long.numberOfTrailingZeros(moves));
+        }
+        return state;
+    }
+}
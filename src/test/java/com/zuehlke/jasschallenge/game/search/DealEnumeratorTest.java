@@ -0,0 +1,110 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class DealEnumeratorTest {
+
+    @Test
+    public void next_withoutForbiddenCards_everyDealOnce() {
+
+        final long unknownCards = 0b1111_1111_1L << 10;
+        final int[] handSizes = {0, 3, 3, 3};
+
+        final Set<List<Long>> deals = enumerate(unknownCards, handSizes, new long[4]);
+
+        assertEquals(DealEnumerator.countDeals(handSizes), deals.size());
+        assertEquals(1680, deals.size());
+    }
+
+    @Test
+    public void next_forbiddenCards_onlyConsistentDeals() {
+
+        final SplittableRandom random = new SplittableRandom(4);
+        for (int i = 0; i < 20; i++) {
+            final long unknownCards = 0b1111_1111L << random.nextInt(28);
+            final int[] handSizes = {3, 0, 2, 3};
+            final long[] forbiddenCards = {random.nextLong() & unknownCards & random.nextLong(), 0L, random.nextLong() & unknownCards & random.nextLong(), 0L};
+
+            final Set<List<Long>> deals = enumerate(unknownCards, handSizes, forbiddenCards);
+
+            assertEquals(countByBruteForce(unknownCards, handSizes, forbiddenCards), deals.size());
+        }
+    }
+
+    @Test
+    public void next_lastSeatCannotTakeRemainingCards_noDeal() {
+
+        final long[] hands = new long[4];
+        final DealEnumerator enumerator = new DealEnumerator(0b11L, new int[]{0, 0, 0, 2}, new long[]{0L, 0L, 0L, 0b1L});
+
+        assertFalse(enumerator.next(hands));
+    }
+
+    @Test
+    public void next_noUnknownCards_singleEmptyDeal() {
+
+        final long[] hands = {1L, 2L, 4L, 8L};
+        final DealEnumerator enumerator = new DealEnumerator(0L, new int[4], new long[4]);
+
+        assertTrue(enumerator.next(hands));
+        assertArrayEquals(new long[]{1L, 2L, 4L, 8L}, hands);
+        assertFalse(enumerator.next(hands));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void create_handSizesDoNotMatch() {
+
+        new DealEnumerator(0b111L, new int[]{0, 1, 1, 0}, new long[4]);
+    }
+
+    private static Set<List<Long>> enumerate(long unknownCards, int[] handSizes, long[] forbiddenCards) {
+        final Set<List<Long>> deals = new HashSet<>();
+        final DealEnumerator enumerator = new DealEnumerator(unknownCards, handSizes, forbiddenCards);
+        final long[] hands = new long[4];
+        while (enumerator.next(hands)) {
+            long dealtCards = 0L;
+            for (int seat = 0; seat < 4; seat++) {
+                assertEquals(handSizes[seat], CardSet.size(hands[seat]));
+                assertEquals(0L, hands[seat] & forbiddenCards[seat]);
+                dealtCards |= hands[seat];
+            }
+            assertEquals(unknownCards, dealtCards);
+            assertTrue(deals.add(asList(hands[0], hands[1], hands[2], hands[3])));
+        }
+        return deals;
+    }
+
+    /**
+     * Assigns every card to one of the seats, in all possible ways.
+     */
+    private static int countByBruteForce(long unknownCards, int[] handSizes, long[] forbiddenCards) {
+        final int[] cards = new int[Long.bitCount(unknownCards)];
+        int numberOfCards = 0;
+        for (long remaining = unknownCards; remaining != 0L; remaining &= remaining - 1) {
+            cards[numberOfCards++] = Long.numberOfTrailingZeros(remaining);
+        }
+
+        int deals = 0;
+        final int assignments = 1 << (2 * cards.length);
+        for (int assignment = 0; assignment < assignments; assignment++) {
+            final int[] sizes = new int[4];
+            boolean consistent = true;
+            for (int card = 0; card < cards.length && consistent; card++) {
+                final int seat = (assignment >>> (2 * card)) & 3;
+                sizes[seat]++;
+                consistent = (forbiddenCards[seat] & 1L << cards[card]) == 0L;
+            }
+            if (consistent && java.util.Arrays.equals(sizes, handSizes)) deals++;
+        }
+        return deals;
+    }
+}
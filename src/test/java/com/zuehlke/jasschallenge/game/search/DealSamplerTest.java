@@ -0,0 +1,51 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class DealSamplerTest {
+
+    @Test
+    public void sample_dealsAllCardsWithoutForbiddenCards() {
+
+        final long unknownCards = CardSet.ALL_CARDS_MASK & ~CardSet.colorMask(Color.HEARTS);
+        final long[] forbiddenCards = {0L, CardSet.colorMask(Color.CLUBS), 0L, CardSet.colorMask(Color.SPADES)};
+        final SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 100; i++) {
+            final long[] hands = {CardSet.colorMask(Color.HEARTS), 0L, 0L, 0L};
+
+            assertTrue(DealSampler.sample(unknownCards, new int[]{0, 9, 9, 9}, forbiddenCards, hands, random));
+
+            assertEquals(CardSet.ALL_CARDS_MASK, hands[0] | hands[1] | hands[2] | hands[3]);
+            assertEquals(0L, hands[1] & hands[2]);
+            assertEquals(9, CardSet.size(hands[1]));
+            assertEquals(0L, hands[1] & forbiddenCards[1]);
+            assertEquals(0L, hands[3] & forbiddenCards[3]);
+        }
+    }
+
+    @Test
+    public void sample_impossibleConstraints_dealsIgnoringThem() {
+
+        final long unknownCards = CardSet.colorMask(Color.CLUBS);
+        final long[] forbiddenCards = {0L, CardSet.colorMask(Color.CLUBS), 0L, 0L};
+        final long[] hands = new long[4];
+
+        assertFalse(DealSampler.sample(unknownCards, new int[]{0, 3, 3, 3}, forbiddenCards, hands, new SplittableRandom(2)));
+
+        assertEquals(3, CardSet.size(hands[1]));
+        assertEquals(unknownCards, hands[1] | hands[2] | hands[3]);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void sample_handSizesDoNotMatchCards() {
+
+        DealSampler.sample(CardSet.colorMask(Color.CLUBS), new int[]{0, 3, 3, 2}, new long[4], new long[4], new SplittableRandom(3));
+    }
+}
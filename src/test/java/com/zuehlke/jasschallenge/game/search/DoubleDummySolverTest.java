@@ -0,0 +1,115 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.CardValue;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.search.AlphaBetaSolverTest.createState;
+import static com.zuehlke.jasschallenge.game.search.AlphaBetaSolverTest.playRandomly;
+import static org.junit.Assert.assertEquals;
+
+public class DoubleDummySolverTest {
+
+    @Test
+    public void solve_sameAsAlphaBetaSolver() {
+
+        final SplittableRandom random = new SplittableRandom(1);
+        final DoubleDummySolver solver = new DoubleDummySolver();
+        for (int i = 0; i < 60; i++) {
+            final Mode mode = Mode.standardModes().get(i % 6);
+            final GameState state = playRandomly(createState(mode, random.nextLong()), 18 + random.nextInt(6), random);
+
+            assertEquals(new AlphaBetaSolver().solve(state), solver.solve(state));
+        }
+    }
+
+    @Test
+    public void solve_firstGuessDoesNotChangeValue() {
+
+        final GameState state = playRandomly(createState(Mode.bottomUp(), 2), 20, new SplittableRandom(2));
+        final int value = new DoubleDummySolver().solve(state);
+
+        assertEquals(value, new DoubleDummySolver().solve(state, -200));
+        assertEquals(value, new DoubleDummySolver().solve(state, 200));
+    }
+
+    @Test
+    public void solveMove_sameAsAlphaBetaSolver() {
+
+        final GameState state = playRandomly(createState(Mode.topDown(), 3), 21, new SplittableRandom(3));
+        final DoubleDummySolver solver = new DoubleDummySolver();
+
+        for (long moves = state.legalMoves(); moves != 0L; moves &= moves - 1) {
+            final int card = Long.numberOfTrailingZeros(moves);
+
+            assertEquals(new AlphaBetaSolver().solveMove(state, card, GameState.NUMBER_OF_ROUNDS), solver.solveMove(state, card));
+        }
+    }
+
+    @Test
+    public void solve_finishedGame_scoreDifference() {
+
+        final GameState state = playRandomly(createState(Mode.topDown(), 4), 36, new SplittableRandom(4));
+        final int team = GameState.getTeam(state.getCurrentSeat());
+
+        assertEquals(state.getTeamScore(team) - state.getTeamScore(1 - team), new DoubleDummySolver().solve(state));
+    }
+
+    @Test
+    public void solve_sameCardsInRoundPlayedBySwappedSeats_sameAsAlphaBetaSolver() {
+
+        final SplittableRandom random = new SplittableRandom(5);
+        final DoubleDummySolver solver = new DoubleDummySolver();
+        for (int i = 0; i < 20; i++) {
+            final GameState state = playRandomly(createState(Mode.topDown(), random.nextLong()), 20, random);
+            final int leader = state.getRoundStartingSeat();
+            final int follower = (leader + 1) % GameState.NUMBER_OF_PLAYERS;
+            final int leaderCard = Long.numberOfTrailingZeros(state.getHand(leader));
+            final long followerCards = state.getHand(follower) & CardSet.colorMask(CardSet.card(leaderCard).getColor());
+            if (followerCards == 0L) continue;
+
+            final int followerCard = Long.numberOfTrailingZeros(followerCards);
+            final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+            for (int seat = 0; seat < hands.length; seat++) {
+                hands[seat] = state.getHand(seat);
+            }
+            hands[leader] ^= 1L << leaderCard | 1L << followerCard;
+            hands[follower] ^= 1L << leaderCard | 1L << followerCard;
+            final GameState swapped = state.copy();
+            swapped.redeal(hands);
+            state.makeMove(leaderCard);
+            state.makeMove(followerCard);
+            swapped.makeMove(followerCard);
+            swapped.makeMove(leaderCard);
+
+            assertEquals(new AlphaBetaSolver().solve(state), solver.solve(state));
+            assertEquals(new AlphaBetaSolver().solve(swapped), solver.solve(swapped));
+        }
+    }
+
+    @Test
+    public void solve_leaderHoldsOnlyWinningCards_winsAllRoundsWithoutSearch() {
+
+        long winningCards = 1L << Card.HEART_QUEEN.ordinal();
+        for (Card card : Card.values()) {
+            if (card.getValue() == CardValue.ACE || card.getValue() == CardValue.KING) {
+                winningCards |= 1L << card.ordinal();
+            }
+        }
+        final long[] hands = {winningCards, 0L, 0L, 0L};
+        long otherCards = CardSet.ALL_CARDS_MASK & ~winningCards;
+        for (int i = 0; otherCards != 0L; i++, otherCards = CardSet.removeFirst(otherCards)) {
+            hands[1 + i / GameState.NUMBER_OF_ROUNDS] |= Long.lowestOneBit(otherCards);
+        }
+        final Mode mode = Mode.topDown();
+        final DoubleDummySolver solver = new DoubleDummySolver();
+
+        assertEquals(mode.calculateRoundScore(GameState.NUMBER_OF_ROUNDS - 1, CardSet.ALL_CARDS_MASK) + GameState.MATCH_BONUS * mode.getFactor(),
+                solver.solve(new GameState(mode, hands, 0)));
+        assertEquals(1, solver.getVisitedNodes());
+    }
+}
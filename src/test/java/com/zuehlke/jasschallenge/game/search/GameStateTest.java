@@ -0,0 +1,165 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.client.game.GameSession;
+import com.zuehlke.jasschallenge.client.game.GameSessionBuilder;
+import com.zuehlke.jasschallenge.client.game.Move;
+import com.zuehlke.jasschallenge.client.game.Player;
+import com.zuehlke.jasschallenge.game.Trumpf;
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.cards.Color;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.zuehlke.jasschallenge.game.cards.Card.*;
+import static org.junit.Assert.*;
+
+public class GameStateTest {
+
+    @Test
+    public void makeMove_fullRound_winnerStartsNextRoundAndGetsPoints() {
+
+        final GameState state = new GameState(Mode.from(Trumpf.TRUMPF, Color.CLUBS), dealOrderedHands(), 0);
+
+        state.makeMove(HEART_SIX);
+        state.makeMove(DIAMOND_ACE);
+        state.makeMove(CLUB_SIX);
+        state.makeMove(SPADE_TEN);
+
+        assertEquals(1, state.getRoundNumber());
+        assertEquals(2, state.getCurrentSeat());
+        assertEquals(21, state.getTeamScore(0));
+        assertEquals(0, state.getTeamScore(1));
+        assertEquals(8, CardSet.size(state.getHand(0)));
+    }
+
+    @Test
+    public void unmakeMove_restoresHandsScoresAndRound() {
+
+        final long[] hands = dealOrderedHands();
+        final GameState state = new GameState(Mode.topDown(), hands, 2);
+
+        state.makeMove(CLUB_ACE);
+        state.makeMove(SPADE_ACE);
+        state.makeMove(HEART_ACE);
+        state.makeMove(DIAMOND_ACE);
+        state.makeMove(CLUB_KING);
+        assertEquals(44, state.getTeamScore(0));
+
+        for (int i = 0; i < 5; i++) {
+            state.unmakeMove();
+        }
+
+        assertEquals(0, state.getTeamScore(0));
+        assertEquals(0, state.getRoundNumber());
+        assertEquals(2, state.getCurrentSeat());
+        for (int seat = 0; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+            assertEquals(hands[seat], state.getHand(seat));
+        }
+    }
+
+    @Test
+    public void makeMove_wholeGameWithOneTeamWinningAllRounds_addsMatchBonus() {
+
+        final GameState state = new GameState(Mode.topDown(), dealOrderedHands(), 2);
+
+        while (!state.isFinished()) {
+            state.makeMove(CardSet.first(state.legalMoves()));
+        }
+
+        assertEquals(257, state.getTeamScore(0));
+        assertEquals(0, state.getTeamScore(1));
+    }
+
+    @Test
+    public void legalMoves_mustFollowRoundColor() {
+
+        final GameState state = new GameState(Mode.topDown(), dealMixedHands(), 0);
+
+        state.makeMove(HEART_SIX);
+
+        assertEquals(CardSet.of(HEART_SEVEN, HEART_JACK).mask(), state.legalMoves());
+    }
+
+    @Test
+    public void fromSession_continuesWithCardsOfCurrentRound() {
+
+        final GameSession session = GameSessionBuilder.newSession().createGameSession();
+        final List<Player> players = session.getPlayersInPlayingOrder();
+        session.startNewGame(Mode.topDown(), false);
+        session.makeMove(new Move(players.get(0), HEART_SIX));
+        session.makeMove(new Move(players.get(1), HEART_SEVEN));
+        final long[] hands = dealMixedHands();
+        hands[0] &= ~CardSet.mask(HEART_SIX);
+        hands[1] &= ~CardSet.mask(HEART_SEVEN);
+
+        final GameState state = GameState.fromSession(session, hands);
+
+        assertEquals(2, state.getCardsInRound());
+        assertEquals(2, state.getCurrentSeat());
+        assertEquals(Color.HEARTS, state.getRoundColor());
+        assertEquals(1, state.getRoundWinningSeat());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void unmakeMove_cannotTakeBackMovesOfSession() {
+
+        final GameSession session = GameSessionBuilder.newSession().createGameSession();
+        session.startNewGame(Mode.topDown(), false);
+        session.makeMove(new Move(session.getPlayersInPlayingOrder().get(0), HEART_SIX));
+        final long[] hands = dealMixedHands();
+        hands[0] &= ~CardSet.mask(HEART_SIX);
+
+        GameState.fromSession(session, hands).unmakeMove();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void makeMove_cardOfOtherSeat() {
+
+        new GameState(Mode.topDown(), dealOrderedHands(), 0).makeMove(SPADE_ACE);
+    }
+
+    @Test
+    public void redeal_afterMoves_movesCanBeTakenBackWithNewHands() {
+
+        final GameState state = new GameState(Mode.topDown(), dealOrderedHands(), 0);
+        state.makeMove(HEART_SIX);
+        final long[] hands = dealMixedHands();
+        hands[0] &= ~CardSet.mask(HEART_SIX);
+
+        state.redeal(hands);
+        state.unmakeMove();
+
+        assertEquals(hands[0] | CardSet.mask(HEART_SIX), state.getHand(0));
+        assertEquals(hands[1], state.getHand(1));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void redeal_wrongNumberOfCards() {
+
+        final GameState state = new GameState(Mode.topDown(), dealOrderedHands(), 0);
+        state.makeMove(HEART_SIX);
+
+        state.redeal(dealMixedHands());
+    }
+
+    /** Every seat holds one whole color: seat 0 hearts, seat 1 diamonds, seat 2 clubs, seat 3 spades. */
+    private static long[] dealOrderedHands() {
+        final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+        for (Color color : Color.values()) {
+            hands[color.ordinal()] = CardSet.colorMask(color);
+        }
+        return hands;
+    }
+
+    /** Every seat holds every fourth card in ordinal order. */
+    private static long[] dealMixedHands() {
+        final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+        for (Card card : Card.values()) {
+            hands[card.ordinal() % GameState.NUMBER_OF_PLAYERS] |= CardSet.mask(card);
+        }
+        return hands;
+    }
+}
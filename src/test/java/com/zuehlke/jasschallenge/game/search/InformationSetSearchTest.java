@@ -0,0 +1,180 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import com.zuehlke.jasschallenge.game.cards.Card;
+import com.zuehlke.jasschallenge.game.cards.CardSet;
+import com.zuehlke.jasschallenge.game.mode.Mode;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static com.zuehlke.jasschallenge.game.search.AlphaBetaSolverTest.createState;
+import static com.zuehlke.jasschallenge.game.search.AlphaBetaSolverTest.playRandomly;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InformationSetSearchTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int[] NO_HAND_SIZES = new int[GameState.NUMBER_OF_PLAYERS];
+    private static final long[] NO_FORBIDDEN_CARDS = new long[GameState.NUMBER_OF_PLAYERS];
+
+    @Test
+    public void search_allHandsKnown_playsCardWithBestValue() {
+
+        final SplittableRandom random = new SplittableRandom(1);
+        final InformationSetSearch search = new InformationSetSearch();
+        final DoubleDummySolver solver = new DoubleDummySolver();
+        for (int i = 0; i < 12; i++) {
+            final Mode mode = Mode.standardModes().get(i % 6);
+            final GameState state = playRandomly(createState(mode, random.nextLong()), 28, random);
+            search.clear();
+
+            final Card card = search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 2000, random);
+
+            assertEquals(solver.solve(state), solver.solveMove(state, card.ordinal()));
+        }
+    }
+
+    @Test
+    public void search_unknownHands_playsLegalCardAndKeepsState() {
+
+        final SplittableRandom random = new SplittableRandom(2);
+        final GameState state = playRandomly(createState(Mode.topDown(), 2), 6, random);
+        final int seat = state.getCurrentSeat();
+        final long[] hands = new long[GameState.NUMBER_OF_PLAYERS];
+        final int[] handSizes = new int[GameState.NUMBER_OF_PLAYERS];
+        long unknownCards = 0L;
+        for (int i = 0; i < GameState.NUMBER_OF_PLAYERS; i++) {
+            hands[i] = state.getHand(i);
+            if (i != seat) {
+                handSizes[i] = CardSet.size(hands[i]);
+                unknownCards |= hands[i];
+            }
+        }
+
+        final Card card = new InformationSetSearch().search(state, unknownCards, handSizes, NO_FORBIDDEN_CARDS, NO_DEADLINE, 500, random);
+
+        assertTrue(CardSet.contains(state.legalMoves(), card));
+        for (int i = 0; i < GameState.NUMBER_OF_PLAYERS; i++) {
+            assertEquals(hands[i], state.getHand(i));
+        }
+        assertEquals(seat, state.getCurrentSeat());
+    }
+
+    @Test
+    public void search_deadlineReached_searchesOnce() {
+
+        final SplittableRandom random = new SplittableRandom(3);
+        final GameState state = createState(Mode.bottomUp(), 3);
+        final InformationSetSearch search = new InformationSetSearch();
+
+        final Card card = search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, 0L, random);
+
+        assertEquals(1, search.getIterations());
+        assertEquals(1, search.getVisits(card));
+    }
+
+    @Test
+    public void search_noDealRespectsForbiddenCards_skipsDeals() {
+
+        final SplittableRandom random = new SplittableRandom(9);
+        final GameState state = createState(Mode.topDown(), 9);
+        final int[] handSizes = new int[GameState.NUMBER_OF_PLAYERS];
+        final long[] forbiddenCards = new long[GameState.NUMBER_OF_PLAYERS];
+        long unknownCards = 0L;
+        for (int seat = 1; seat < GameState.NUMBER_OF_PLAYERS; seat++) {
+            unknownCards |= state.getHand(seat);
+            handSizes[seat] = CardSet.size(state.getHand(seat));
+            forbiddenCards[seat] = CardSet.ALL_CARDS_MASK;
+        }
+        final InformationSetSearch search = new InformationSetSearch();
+
+        final Card card = search.search(state, unknownCards, handSizes, forbiddenCards, NO_DEADLINE, 100, random);
+
+        assertNull(card);
+        assertEquals(0, search.getIterations());
+        assertEquals(0, search.getRootVisits());
+    }
+
+    @Test
+    public void search_mostVisitedCard() {
+
+        final SplittableRandom random = new SplittableRandom(4);
+        final GameState state = playRandomly(createState(Mode.topDown(), 4), 4, random);
+        final InformationSetSearch search = new InformationSetSearch();
+
+        final Card card = search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 1000, random);
+
+        for (long moves = state.legalMoves(); moves != 0L; moves &= moves - 1) {
+            assertTrue(search.getVisits(CardSet.card(Long.numberOfTrailingZeros(moves))) <= search.getVisits(card));
+        }
+        assertEquals(1000, search.getIterations());
+    }
+
+    @Test
+    public void search_secondSearch_continuesWithTree() {
+
+        final SplittableRandom random = new SplittableRandom(5);
+        final GameState state = playRandomly(createState(Mode.topDown(), 5), 4, random);
+        final InformationSetSearch search = new InformationSetSearch();
+
+        search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 300, random);
+        search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 200, random);
+
+        assertEquals(200, search.getIterations());
+        assertEquals(500, search.getRootVisits());
+    }
+
+    @Test
+    public void clear_searchStartsFromScratch() {
+
+        final SplittableRandom random = new SplittableRandom(6);
+        final GameState state = createState(Mode.topDown(), 6);
+        final InformationSetSearch search = new InformationSetSearch();
+        search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 300, random);
+
+        search.clear();
+
+        assertEquals(0, search.getRootVisits());
+        assertEquals(0, search.getVisits(CardSet.first(state.legalMoves())));
+    }
+
+    @Test
+    public void playCard_searchedCard_keepsVisitsOfSubtree() {
+
+        final SplittableRandom random = new SplittableRandom(7);
+        final GameState state = playRandomly(createState(Mode.bottomUp(), 7), 8, random);
+        final InformationSetSearch search = new InformationSetSearch();
+        final Card card = search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 2000, random);
+        final int visits = search.getVisits(card);
+
+        search.playCard(card);
+        state.makeMove(card);
+
+        assertEquals(visits, search.getRootVisits());
+        int childVisits = 0;
+        for (long moves = state.legalMoves(); moves != 0L; moves &= moves - 1) {
+            childVisits += search.getVisits(CardSet.card(Long.numberOfTrailingZeros(moves)));
+        }
+        assertEquals("the first visit created the node", visits - 1, childVisits);
+
+        final Card nextCard = search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, NO_DEADLINE, 100, random);
+        assertTrue(CardSet.contains(state.legalMoves(), nextCard));
+        assertEquals(visits + 100, search.getRootVisits());
+    }
+
+    @Test
+    public void playCard_cardWasNotSearched_clearsTree() {
+
+        final SplittableRandom random = new SplittableRandom(8);
+        final GameState state = createState(Mode.topDown(), 8);
+        final InformationSetSearch search = new InformationSetSearch();
+        search.search(state, 0L, NO_HAND_SIZES, NO_FORBIDDEN_CARDS, 0L, random);
+
+        final int nextSeat = (state.getCurrentSeat() + 1) % GameState.NUMBER_OF_PLAYERS;
+        search.playCard(CardSet.first(state.getHand(nextSeat)));
+
+        assertEquals(0, search.getRootVisits());
+    }
+}
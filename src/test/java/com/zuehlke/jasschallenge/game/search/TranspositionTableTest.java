@@ -0,0 +1,85 @@
+package com.zuehlke.jasschallenge.game.search;
+
+import org.junit.Test;
+
+import static com.zuehlke.jasschallenge.game.search.TranspositionTable.NO_LOWER_BOUND;
+import static com.zuehlke.jasschallenge.game.search.TranspositionTable.NO_UPPER_BOUND;
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    private static final long BUCKETS = 8;
+
+    @Test
+    public void store_samePosition_boundsAreTightened() {
+
+        final TranspositionTable table = new TranspositionTable(4);
+
+        table.store(42L, 10, NO_UPPER_BOUND, 3, 5);
+        table.store(42L, NO_LOWER_BOUND, 20, 5, 5);
+
+        assertTrue(table.probe(42L));
+        assertEquals(10, table.getLowerBound());
+        assertEquals(20, table.getUpperBound());
+        assertEquals(5, table.getBestMove());
+    }
+
+    @Test
+    public void store_missingBound_readsAsNoBound() {
+
+        final TranspositionTable table = new TranspositionTable(4);
+
+        table.store(-7L, NO_LOWER_BOUND, -30, 0, 1);
+
+        assertTrue(table.probe(-7L));
+        assertEquals(NO_LOWER_BOUND, table.getLowerBound());
+        assertEquals(-30, table.getUpperBound());
+    }
+
+    @Test
+    public void store_shallowerPositionInSameBucket_keepsDeeperPosition() {
+
+        final TranspositionTable table = new TranspositionTable(4);
+
+        table.store(1L, 10, 10, 3, 6);
+        table.store(1L + BUCKETS, 20, 20, 4, 2);
+        table.store(1L + 2 * BUCKETS, 30, 30, 5, 3);
+
+        assertTrue(table.probe(1L));
+        assertEquals(10, table.getLowerBound());
+        assertFalse(table.probe(1L + BUCKETS));
+        assertTrue(table.probe(1L + 2 * BUCKETS));
+        assertEquals(30, table.getLowerBound());
+    }
+
+    @Test
+    public void store_deeperPositionInSameBucket_keepsBoth() {
+
+        final TranspositionTable table = new TranspositionTable(4);
+
+        table.store(1L, 10, 10, 3, 2);
+        table.store(1L + BUCKETS, 20, 20, 4, 6);
+
+        assertTrue(table.probe(1L));
+        assertEquals(3, table.getBestMove());
+        assertTrue(table.probe(1L + BUCKETS));
+        assertEquals(4, table.getBestMove());
+    }
+
+    @Test
+    public void clear_removesAllPositions() {
+
+        final TranspositionTable table = new TranspositionTable(4);
+        table.store(7L, 1, 2, 3, 4);
+
+        table.clear();
+
+        assertFalse(table.probe(7L));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void create_tooLarge() {
+
+        new TranspositionTable(40);
+    }
+}